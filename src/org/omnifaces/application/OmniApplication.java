@@ -45,6 +45,8 @@ public class OmniApplication extends ApplicationWrapper {
 	// Variables ------------------------------------------------------------------------------------------------------
 
 	private final Application wrapped;
+	private volatile ConverterProvider converterProvider;
+	private volatile ValidatorProvider validatorProvider;
 
 	// Constructors ---------------------------------------------------------------------------------------------------
 
@@ -64,10 +66,10 @@ public class OmniApplication extends ApplicationWrapper {
 	 */
 	@Override
 	public Converter createConverter(String converterId) {
-		Object provider = BeanManager.INSTANCE.getReference(ConverterProvider.class);
+		ConverterProvider provider = getConverterProvider();
 
-		if (provider instanceof ConverterProvider) { // If not null, it doesn't return true in EAR deployment on GF3, see also #251.
-			Converter converter = ((ConverterProvider) provider).createConverter(getWrapped(), converterId);
+		if (provider != null) {
+			Converter converter = provider.createConverter(getWrapped(), converterId);
 
 			if (converter != null) {
 				return converter;
@@ -83,10 +85,10 @@ public class OmniApplication extends ApplicationWrapper {
 	 */
 	@Override
 	public Converter createConverter(Class<?> targetClass) {
-		Object provider = BeanManager.INSTANCE.getReference(ConverterProvider.class);
+		ConverterProvider provider = getConverterProvider();
 
-		if (provider instanceof ConverterProvider) { // If not null, it doesn't return true in EAR deployment on GF3, see also #251.
-			Converter converter = ((ConverterProvider) provider).createConverter(getWrapped(), targetClass);
+		if (provider != null) {
+			Converter converter = provider.createConverter(getWrapped(), targetClass);
 
 			if (converter != null) {
 				return converter;
@@ -102,10 +104,10 @@ public class OmniApplication extends ApplicationWrapper {
 	 */
 	@Override
 	public Validator createValidator(String validatorId) throws FacesException {
-		Object provider = BeanManager.INSTANCE.getReference(ValidatorProvider.class);
+		ValidatorProvider provider = getValidatorProvider();
 
-		if (provider instanceof ValidatorProvider) { // If not null, it doesn't return true in EAR deployment on GF3, see also #251.
-			Validator validator = ((ValidatorProvider) provider).createValidator(getWrapped(), validatorId);
+		if (provider != null) {
+			Validator validator = provider.createValidator(getWrapped(), validatorId);
 
 			if (validator != null) {
 				return validator;
@@ -120,4 +122,39 @@ public class OmniApplication extends ApplicationWrapper {
 		return wrapped;
 	}
 
-}
\ No newline at end of file
+	// Helpers --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the {@link ConverterProvider}, or <code>null</code> if it's not (yet) available. The provider is
+	 * application scoped, so its CDI reference (a client proxy) is safe to cache once it has been resolved. As long as
+	 * it's not resolved, e.g. because CDI isn't initialized yet, every call will attempt to resolve it again.
+	 */
+	private ConverterProvider getConverterProvider() {
+		if (converterProvider == null) {
+			Object provider = BeanManager.INSTANCE.getReference(ConverterProvider.class);
+
+			if (provider instanceof ConverterProvider) { // If not null, it doesn't return true in EAR deployment on GF3, see also #251.
+				converterProvider = (ConverterProvider) provider;
+			}
+		}
+
+		return converterProvider;
+	}
+
+	/**
+	 * Returns the {@link ValidatorProvider}, or <code>null</code> if it's not (yet) available.
+	 * @see #getConverterProvider()
+	 */
+	private ValidatorProvider getValidatorProvider() {
+		if (validatorProvider == null) {
+			Object provider = BeanManager.INSTANCE.getReference(ValidatorProvider.class);
+
+			if (provider instanceof ValidatorProvider) { // If not null, it doesn't return true in EAR deployment on GF3, see also #251.
+				validatorProvider = (ValidatorProvider) provider;
+			}
+		}
+
+		return validatorProvider;
+	}
+
+}
\ No newline at end of file
@@ -15,7 +15,15 @@
  */
 package org.omnifaces.cdi;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -27,23 +35,40 @@ import javax.enterprise.inject.spi.PassivationCapable;
 /**
  * CDI bean storage. This class is theoretically reusable for multiple CDI scopes. It's currently however only used by
  * the OmniFaces CDI view scope.
+ * <p>
+ * The bean storage is {@link Externalizable} in a compact format: the amount of beans, followed by the passivation ID
+ * and the instance of every bean. The bean instances are written straight to the stream of the container, so that the
+ * container can still replace and resolve objects such as EJB references and CDI proxies during passivation.
  *
  * @author Radu Creanga <rdcrng@gmail.com>
  * @author Bauke Scholtz
  * @since 1.6
  */
-public class BeanStorage implements Serializable {
+public class BeanStorage implements Externalizable {
 
 	// Constants ------------------------------------------------------------------------------------------------------
 
-	private static final long serialVersionUID = 42L;
+	private static final long serialVersionUID = 43L;
+	private static final int DEFAULT_INITIAL_CAPACITY = 3;
 
 	// Properties -----------------------------------------------------------------------------------------------------
 
 	private final ConcurrentMap<String, Bean<?>> beans;
+	private transient volatile long estimatedSize;
+	private transient volatile int estimatedBeans = -1;
+	private transient volatile int skippedEstimates;
 
 	// Constructors ---------------------------------------------------------------------------------------------------
 
+	/**
+	 * Construct a new CDI bean storage with a default initial capacity of the map holding all beans. This constructor
+	 * is only public because {@link Externalizable} needs it.
+	 * @since 1.8
+	 */
+	public BeanStorage() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+
 	/**
 	 * Construct a new CDI bean storage with the given initial capacity of the map holding all beans.
 	 * @param initialCapacity The initial capacity of the map holding all beans.
@@ -98,18 +123,120 @@ public class BeanStorage implements Serializable {
 		beans.clear();
 	}
 
+	/**
+	 * Estimate the size of all beans managed so far by serializing them into a byte counting output stream, and
+	 * remember it for {@link #getEstimatedSize()}. If any bean turns out to be not serializable, or is modified by
+	 * another thread during the serialization, then the previous estimate is kept.
+	 * @return The estimated size of all beans managed so far in bytes.
+	 * @since 1.8
+	 */
+	public long estimateSize() {
+		ByteCountingOutputStream counter = new ByteCountingOutputStream();
+		int size = beans.size();
+
+		try {
+			ObjectOutputStream output = new ObjectOutputStream(counter);
+			writeBeans(output);
+			output.close();
+			estimatedSize = counter.count;
+		}
+		catch (IOException ignore) {
+			// Bean is not serializable. Keep the previous estimate.
+		}
+		catch (RuntimeException ignore) {
+			// Bean is modified during serialization, e.g. ConcurrentModificationException. Keep the previous estimate.
+		}
+
+		estimatedBeans = size;
+		skippedEstimates = 0;
+		return estimatedSize;
+	}
+
+	/**
+	 * Estimate the size of all beans managed so far by {@link #estimateSize()}, but only if it's due: when it has never
+	 * been estimated before, when the amount of beans has changed since the last estimate, or when this method has
+	 * been invoked the given amount of times since the last estimate. This saves from serializing all beans after
+	 * every request.
+	 * @param sampleInterval The amount of invocations after which the size is estimated anyway.
+	 * @return <code>true</code> if the size has been estimated, otherwise <code>false</code>.
+	 * @since 1.8
+	 */
+	public boolean estimateSizeIfDue(int sampleInterval) {
+		if (estimatedBeans == beans.size() && ++skippedEstimates < sampleInterval) {
+			return false;
+		}
+
+		estimateSize();
+		return true;
+	}
+
+	/**
+	 * Write the amount of beans, followed by the passivation ID and the instance of every bean, straight to the given
+	 * output.
+	 * @since 1.8
+	 */
+	@Override
+	public void writeExternal(ObjectOutput output) throws IOException {
+		writeBeans(output);
+	}
+
+	/**
+	 * Read the amount of beans, followed by the passivation ID and the instance of every bean, straight from the given
+	 * input.
+	 * @since 1.8
+	 */
+	@Override
+	public void readExternal(ObjectInput input) throws IOException, ClassNotFoundException {
+		int size = input.readInt();
+
+		for (int i = 0; i < size; i++) {
+			String id = input.readUTF();
+			Bean<Object> bean = new Bean<Object>();
+			bean.readExternal(input);
+			beans.put(id, bean);
+		}
+	}
+
+	// Getters/setters ------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the size of all beans in bytes as estimated during the last {@link #estimateSize()}, or 0 if it has
+	 * never been estimated.
+	 * @return The size of all beans in bytes as estimated during the last {@link #estimateSize()}.
+	 * @since 1.8
+	 */
+	public long getEstimatedSize() {
+		return estimatedSize;
+	}
+
+	// Helpers --------------------------------------------------------------------------------------------------------
+
+	private void writeBeans(ObjectOutput output) throws IOException {
+		List<Entry<String, Bean<?>>> entries = new ArrayList<Entry<String, Bean<?>>>(beans.entrySet());
+		output.writeInt(entries.size());
+
+		for (Entry<String, Bean<?>> entry : entries) {
+			output.writeUTF(entry.getKey());
+			entry.getValue().writeExternal(output);
+		}
+	}
+
 	// Nested classes -------------------------------------------------------------------------------------------------
 
 	/**
 	 * This class represents a bean instance. It merely offers a hook to obtain and destroy the bean instance.
 	 */
-	static class Bean<T> implements Serializable {
+	static class Bean<T> implements Externalizable {
 
-		private static final long serialVersionUID = 42L;
+		private static final long serialVersionUID = 43L;
 
 		private transient Contextual<T> type;
 		private transient CreationalContext<T> context;
-		private final T instance;
+		private T instance;
+
+		public Bean() {
+			// Only for Externalizable.
+		}
 
 		public Bean(Contextual<T> type, CreationalContext<T> context) {
 			setContext(type, context);
@@ -135,6 +262,36 @@ public class BeanStorage implements Serializable {
 			}
 		}
 
+		@Override
+		public void writeExternal(ObjectOutput output) throws IOException {
+			output.writeObject(instance);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void readExternal(ObjectInput input) throws IOException, ClassNotFoundException {
+			instance = (T) input.readObject();
+		}
+
+	}
+
+	/**
+	 * This output stream merely counts the bytes written to it.
+	 */
+	private static final class ByteCountingOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) {
+			count += length;
+		}
+
 	}
 
-}
\ No newline at end of file
+}
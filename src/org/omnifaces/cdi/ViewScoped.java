@@ -84,6 +84,25 @@ import org.omnifaces.cdi.viewscope.ViewScopeManager;
  * <p>If none of those context parameters are present, then a default size of
  * {@value org.omnifaces.cdi.viewscope.ViewScopeManager#DEFAULT_MAX_ACTIVE_VIEW_SCOPES} will be used. When a view scoped
  * bean is evicted from the LRU map, then its {@link PreDestroy} will also guaranteed to be invoked.
+ * <p>
+ * Additionally, the active view scopes can be bounded by their estimated size in kilobytes, per session and across all
+ * sessions, with the following context parameters:
+ * <ul>
+ * <li>{@value org.omnifaces.cdi.viewscope.ViewScopeManager#PARAM_NAME_MAX_SESSION_SIZE}</li>
+ * <li>{@value org.omnifaces.cdi.viewscope.ViewScopeManager#PARAM_NAME_MAX_TOTAL_SIZE}</li>
+ * </ul>
+ * <p>
+ * When any of them is specified, then the size of a view scope is estimated by serializing its beans after the render
+ * response of a request which has accessed it, when the amount of its beans has changed or otherwise once per 10 such
+ * requests. The least recently used view scopes are then evicted as soon as the maximum size of the session or of all
+ * sessions is exceeded. View scopes which are evicted because of the maximum size of all sessions are destroyed by the
+ * session they belong to, or asynchronously when enabled as below. The maximum number of active view scopes in the session
+ * is still respected. The statistics are available via
+ * {@link org.omnifaces.cdi.viewscope.ViewScopeManager#getStatistics()}.
+ * <p>
+ * Evicted view scopes and the view scopes of an expired session are by default destroyed synchronously. They can be
+ * destroyed asynchronously by a bounded pool of threads by specifying the amount of threads in the
+ * {@value org.omnifaces.cdi.viewscope.ViewScopeManager#PARAM_NAME_DESTROY_THREADS} context parameter.
  *
  * @author Radu Creanga <rdcrng@gmail.com>
  * @author Bauke Scholtz
@@ -99,4 +118,4 @@ import org.omnifaces.cdi.viewscope.ViewScopeManager;
 @Target({ElementType.TYPE, ElementType.METHOD, ElementType.FIELD})
 public @interface ViewScoped {
 	//
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -17,9 +17,17 @@ package org.omnifaces.cdi.converter;
 
 import static org.omnifaces.util.Beans.getReference;
 import static org.omnifaces.util.Beans.resolve;
-
-import java.util.HashMap;
-import java.util.Map;
+import static java.util.logging.Level.FINE;
+import static org.omnifaces.util.Utils.getOrCompute;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.spi.Bean;
@@ -32,6 +40,7 @@ import javax.inject.Inject;
 
 import org.omnifaces.application.ConverterProvider;
 import org.omnifaces.application.OmniApplication;
+import org.omnifaces.eventlistener.ConverterValidatorPreloaderEventListener;
 
 /**
  * Provides access to all {@link FacesConverter} annotated {@link Converter} instances which are made eligible for CDI.
@@ -41,58 +50,152 @@ import org.omnifaces.application.OmniApplication;
  * WAR got its own instance injected and only one of them will have access to the collected converters. Since OmniFaces
  * 1.6.1, the whole extension is removed and the converters are now lazily collected in this manager class. See also
  * <a href="https://code.google.com/p/omnifaces/issues/detail?id=251">issue 251</a>.
+ * <p>
+ * Since OmniFaces 1.8, the converters can optionally be collected during startup of the web application, see
+ * {@link ConverterValidatorPreloaderEventListener}. This still goes through the JSF application of the very same WAR,
+ * so converters which are overridden in its <code>faces-config.xml</code> are taken into account.
  *
  * @author Radu Creanga <rdcrng@gmail.com>
  * @author Bauke Scholtz
  * @see OmniApplication
+ * @see ConverterValidatorPreloaderEventListener
  * @since 1.6
  */
 @ApplicationScoped
 public class ConverterManager implements ConverterProvider {
 
+	// Constants ------------------------------------------------------------------------------------------------------
+
+	private static final Logger logger = Logger.getLogger(ConverterManager.class.getName());
+
+	private static final String LOG_PRELOAD_FAILED = "Preloading converter '%s' failed. It will be retried on first use.";
+
 	// Dependencies ---------------------------------------------------------------------------------------------------
 
 	@Inject
 	private BeanManager manager;
-	private Map<String, Bean<Converter>> convertersById = new HashMap<String, Bean<Converter>>();
-    private Map<Class<?>, Bean<Converter>> convertersByForClass = new HashMap<Class<?>, Bean<Converter>>();
+	private final ConcurrentMap<String, Future<Bean<Converter>>> convertersById =
+		new ConcurrentHashMap<String, Future<Bean<Converter>>>();
+	private final ConcurrentMap<Class<?>, Future<Bean<Converter>>> convertersByForClass =
+		new ConcurrentHashMap<Class<?>, Future<Bean<Converter>>>();
 
 	// Actions --------------------------------------------------------------------------------------------------------
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public Converter createConverter(Application application, String converterId) {
-		Bean<Converter> bean = convertersById.get(converterId);
+		Bean<Converter> bean = getConverterBean(application, converterId);
+		return (bean != null) ? getReference(manager, bean) : null;
+	}
 
-		if (bean == null && !convertersById.containsKey(converterId)) {
-			Converter converter = application.createConverter(converterId);
+	@Override
+	public Converter createConverter(Application application, Class<?> converterForClass) {
+		Bean<Converter> bean = getConverterBean(application, converterForClass);
+		return (bean != null) ? getReference(manager, bean) : null;
+	}
 
-			if (converter != null) {
-				bean = (Bean<Converter>) resolve(manager, converter.getClass());
+	/**
+	 * Resolve and cache the converter beans of all converter IDs and all converter for-classes which are registered
+	 * in the given application, so that the first requests which need them do not need to instantiate and resolve
+	 * them anymore. A converter which cannot be created is skipped, so that it fails the same way on first use.
+	 * @param application The JSF application to obtain and create the registered converters from. This must be the
+	 * application wrapped by {@link OmniApplication}.
+	 * @since 1.8
+	 */
+	public void preload(Application application) {
+		for (Iterator<String> iterator = application.getConverterIds(); iterator.hasNext();) {
+			String converterId = iterator.next();
+
+			try {
+				getConverterBean(application, converterId);
+			}
+			catch (RuntimeException e) {
+				logger.log(FINE, String.format(LOG_PRELOAD_FAILED, converterId), e);
 			}
-
-			convertersById.put(converterId, bean);
 		}
 
-		return (bean != null) ? getReference(manager, bean) : null;
+		for (Iterator<Class<?>> iterator = application.getConverterTypes(); iterator.hasNext();) {
+			Class<?> converterForClass = iterator.next();
+
+			try {
+				getConverterBean(application, converterForClass);
+			}
+			catch (RuntimeException e) {
+				logger.log(FINE, String.format(LOG_PRELOAD_FAILED, converterForClass.getName()), e);
+			}
+		}
 	}
 
-	@Override
-	@SuppressWarnings("unchecked")
-	public Converter createConverter(Application application, Class<?> converterForClass) {
-		Bean<Converter> bean = convertersByForClass.get(converterForClass);
+	// Helpers --------------------------------------------------------------------------------------------------------
 
-		if (bean == null && !convertersByForClass.containsKey(converterForClass)) {
-			Converter converter = application.createConverter(converterForClass);
+	/**
+	 * Returns the converter bean for the given converter ID.
+	 */
+	private Bean<Converter> getConverterBean(final Application application, final String converterId) {
+		return getOrCompute(convertersById, converterId, new Callable<Bean<Converter>>() {
+			@Override
+			public Bean<Converter> call() {
+				return resolveConverter(application.createConverter(converterId));
+			}
+		});
+	}
 
-			if (converter != null) {
-				bean = (Bean<Converter>) resolve(manager, converter.getClass());
+	/**
+	 * Returns the converter bean for the given class. If one of its supertypes is registered as converter for class,
+	 * then the converter bean of the nearest one is shared, so that JSF doesn't need to walk the class hierarchy nor
+	 * instantiate a converter for every subclass.
+	 */
+	private Bean<Converter> getConverterBean(final Application application, final Class<?> converterForClass) {
+		return getOrCompute(convertersByForClass, converterForClass, new Callable<Bean<Converter>>() {
+			@Override
+			public Bean<Converter> call() {
+				Class<?> registeredForClass = findRegisteredForClass(application, converterForClass);
+
+				if (registeredForClass != null && registeredForClass != converterForClass) {
+					return getConverterBean(application, registeredForClass);
+				}
+
+				return resolveConverter(application.createConverter(converterForClass));
 			}
+		});
+	}
 
-			convertersByForClass.put(converterForClass, bean);
+	/**
+	 * Returns the nearest type in the hierarchy of the given class for which a converter is registered in JSF, in the
+	 * same order as JSF does: the class itself, then its interfaces, then its superclass. Returns <code>null</code> if
+	 * there is none, in which case it's up to JSF to find one. The registered converter types are obtained from the
+	 * application on every call, so that converters which are registered after startup are also taken into account.
+	 * This is only invoked when the for-class is not cached yet, so it's not expensive.
+	 */
+	private static Class<?> findRegisteredForClass(Application application, Class<?> type) {
+		Set<Class<?>> converterTypes = new HashSet<Class<?>>();
+
+		for (Iterator<Class<?>> iterator = application.getConverterTypes(); iterator.hasNext();) {
+			converterTypes.add(iterator.next());
 		}
 
-		return (bean != null) ? getReference(manager, bean) : null;
+		return findRegisteredForClass(converterTypes, type);
+	}
+
+	private static Class<?> findRegisteredForClass(Set<Class<?>> converterTypes, Class<?> type) {
+		if (converterTypes.contains(type)) {
+			return type;
+		}
+
+		for (Class<?> interfaceType : type.getInterfaces()) {
+			Class<?> registeredForClass = findRegisteredForClass(converterTypes, interfaceType);
+
+			if (registeredForClass != null) {
+				return registeredForClass;
+			}
+		}
+
+		Class<?> superclass = type.getSuperclass();
+		return (superclass != null) ? findRegisteredForClass(converterTypes, superclass) : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Bean<Converter> resolveConverter(Converter converter) {
+		return (converter != null) ? (Bean<Converter>) resolve(manager, converter.getClass()) : null;
 	}
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -31,6 +31,7 @@ import static org.omnifaces.util.Utils.isEmpty;
 import java.beans.PropertyDescriptor;
 import java.beans.PropertyEditor;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -40,8 +41,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.AnnotatedParameter;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.faces.application.Application;
 import javax.faces.application.FacesMessage;
@@ -54,36 +58,51 @@ import javax.faces.validator.RequiredValidator;
 import javax.faces.validator.Validator;
 import javax.faces.validator.ValidatorException;
 import javax.validation.ConstraintViolation;
+import javax.validation.metadata.BeanDescriptor;
 
 import org.omnifaces.cdi.Param;
-import org.omnifaces.util.Faces;
 
 /**
  * Producer for a request parameter as defined by the {@link Param} annotation.
+ * <p>
+ * Everything which can be determined from the injection point alone, such as the target type, the converter and
+ * validator factories and the literal strings of the {@link Param} annotation, is resolved only once per injection
+ * point and cached. Only the attributes of the {@link Param} annotation which are actually EL expressions are
+ * evaluated on every injection.
+ * <p>
+ * Bean validation is skipped altogether for injection points whose property has no constraints according to the
+ * {@link BeanDescriptor} of the bean class. Otherwise every value is validated right away during its injection.
  *
  * @since 1.6
  * @author Arjan Tijms
  */
 public class RequestParameterProducer {
 
+	private static final ConcurrentMap<InjectionPointKey, InjectionPointMetadata> metadataCache =
+		new ConcurrentHashMap<InjectionPointKey, InjectionPointMetadata>();
+
+	private static final ConcurrentMap<Class<?>, Map<String, PropertyDescriptor>> writablePropertiesCache =
+		new ConcurrentHashMap<Class<?>, Map<String, PropertyDescriptor>>();
+
 	@SuppressWarnings("unchecked")
 	@Produces
 	@Param
 	public <V> ParamValue<V> produce(InjectionPoint injectionPoint) {
 
-		// @Param is the annotation on the injection point that holds all data for this request parameter
-		Param requestParameter = getQualifier(injectionPoint, Param.class);
+		// All data for this request parameter which doesn't change per request is cached per injection point
+		InjectionPointMetadata metadata = getMetadata(injectionPoint);
+		Param requestParameter = metadata.requestParameter;
 
 		FacesContext context = getContext();
 		UIComponent component = getViewRoot();
 
-		String label = getLabel(requestParameter, injectionPoint);
+		String label = metadata.getLabel();
 
 		// TODO: Save/restore existing potentially existing label?
 		component.getAttributes().put("label", label);
 
 		// Get raw submitted value from the request
-		String submittedValue = getRequestParameter(getName(requestParameter, injectionPoint));
+		String submittedValue = getRequestParameter(metadata.getName());
 		Object convertedValue = null;
 		boolean valid = true;
 
@@ -91,7 +110,7 @@ public class RequestParameterProducer {
 
 			// Convert the submitted value
 
-			Converter converter = getConverter(requestParameter, getTargetType(injectionPoint));
+			Converter converter = metadata.getConverter();
 			if (converter != null) {
 				convertedValue = converter.getAsObject(context, component, submittedValue);
 			} else {
@@ -101,15 +120,15 @@ public class RequestParameterProducer {
 			// Check for required
 
 			if (requestParameter.required() && isEmpty(convertedValue)) {
-				addRequiredMessage(context, component, label, submittedValue, getRequiredMessage(requestParameter));
+				addRequiredMessage(context, component, label, submittedValue, metadata.requiredMessage.get());
 			}
 
 			// Validate the converted value
 
 			// 1. Use Bean Validation validators
-			if (shouldDoBeanValidation(requestParameter)) {
+			if (metadata.beanValidation && metadata.isConstrained()) {
 				
-				Set<ConstraintViolation<?>> violations = doBeanValidation(injectionPoint.getBean().getBeanClass(), injectionPoint.getMember().getName(), convertedValue);
+				Set<ConstraintViolation<?>> violations = doBeanValidation(metadata.beanClass, metadata.propertyName, convertedValue);
 				
 				valid = violations.isEmpty();
 				
@@ -119,17 +138,17 @@ public class RequestParameterProducer {
 			}
 
 			// 2. Use JSF native validators
-			for (Validator validator : getValidators(requestParameter)) {
+			for (Validator validator : metadata.getValidators()) {
 				try {
 					validator.validate(context, component, convertedValue);
 				} catch (ValidatorException ve) {
 					valid = false;
-					addValidatorMessages(context, component, label, submittedValue, ve, getValidatorMessage(requestParameter));
+					addValidatorMessages(context, component, label, submittedValue, ve, metadata.validatorMessage.get());
 				}
 			}
 		} catch (ConverterException ce) {
 			valid = false;
-			addConverterMessage(context, component, label, submittedValue, ce, getConverterMessage(requestParameter));
+			addConverterMessage(context, component, label, submittedValue, ce, metadata.converterMessage.get());
 		}
 
 		if (!valid) {
@@ -137,44 +156,35 @@ public class RequestParameterProducer {
 			convertedValue = null;
 		}
 
-		return (ParamValue<V>) new ParamValue<Object>(submittedValue, requestParameter, getTargetType(injectionPoint), convertedValue);
+		return (ParamValue<V>) new ParamValue<Object>(submittedValue, requestParameter, metadata.targetType, convertedValue);
 	}
 	
+	/**
+	 * Returns the converter for the given {@link Param} and target type. This is used to reconvert the submitted value
+	 * of a deserialized {@link ParamValue}. It resolves the converter the very same way as during the injection.
+	 * @param requestParameter The {@link Param} annotation of the injection point.
+	 * @param targetType The type to convert the submitted value to.
+	 * @return The converter, or <code>null</code> if there is none.
+	 */
 	public static Converter getConverter(Param requestParameter, Class<?> targetType) {
+		return new ConverterMetadata(requestParameter, targetType).getConverter();
+	}
 
-		Class<? extends Converter> converterClass = requestParameter.converterClass();
-		String converterName = requestParameter.converter();
-
-		Converter converter = null;
+	private static InjectionPointMetadata getMetadata(InjectionPoint injectionPoint) {
 
-		if (!isEmpty(converterName)) {
-			Object expressionResult = evaluateExpressionGet(converterName);
-			if (expressionResult instanceof Converter) {
-				converter = (Converter) expressionResult;
-			} else if (expressionResult instanceof String) {
-				converter = getApplication().createConverter((String) expressionResult);
-			}
-		} else if (!converterClass.equals(Converter.class)) { // Converter.class is default, representing null
-			converter = instance(converterClass);
-		}
-
-		if (converter == null) {
-			try {
-				converter = Faces.getApplication().createConverter(targetType);
-			} catch (Exception e) {
-				return null;
-			}
-		}
+		InjectionPointKey key = new InjectionPointKey(injectionPoint);
+		InjectionPointMetadata metadata = metadataCache.get(key);
 
-		if (converter != null) {
-			setAttributes(converter, getConverterAttributes(requestParameter));
+		if (metadata == null) {
+			metadata = new InjectionPointMetadata(injectionPoint);
+			metadataCache.putIfAbsent(key, metadata);
 		}
 
-		return converter;
+		return metadata;
 	}
 
 	@SuppressWarnings("unchecked")
-	private <V> Class<V> getTargetType(InjectionPoint injectionPoint) {
+	private static <V> Class<V> getTargetType(InjectionPoint injectionPoint) {
 		Type type = injectionPoint.getType();
 		if (type instanceof ParameterizedType) {
 			return (Class<V>) ((ParameterizedType) type).getActualTypeArguments()[0];
@@ -183,45 +193,21 @@ public class RequestParameterProducer {
 		return null;
 	}
 
-	private String getName(Param requestParameter, InjectionPoint injectionPoint) {
-
-		String name = requestParameter.name();
-
-		if (isEmpty(name)) {
-			name = injectionPoint.getMember().getName();
-		} else {
-			name = evaluateExpressionAsString(name);
-		}
-
-		return name;
+	private static boolean isExpression(String value) {
+		return value != null && (value.contains("#{") || value.contains("${"));
 	}
 
-	private String getLabel(Param requestParameter, InjectionPoint injectionPoint) {
-
-		String label = requestParameter.label();
-
-		if (isEmpty(label)) {
-			label = getName(requestParameter, injectionPoint);
-		} else {
-			label = evaluateExpressionAsString(label);
+	private static boolean hasExpression(Attribute[] attributes) {
+		for (Attribute attribute : attributes) {
+			if (isExpression(attribute.value())) {
+				return true;
+			}
 		}
 
-		return label;
+		return false;
 	}
 
-	private String getValidatorMessage(Param requestParameter) {
-		return evaluateExpressionAsString(requestParameter.validatorMessage());
-	}
-
-	private String getConverterMessage(Param requestParameter) {
-		return evaluateExpressionAsString(requestParameter.converterMessage());
-	}
-
-	private String getRequiredMessage(Param requestParameter) {
-		return evaluateExpressionAsString(requestParameter.requiredMessage());
-	}
-
-	private String evaluateExpressionAsString(String expression) {
+	private static String evaluateExpressionAsString(String expression) {
 
 		if (isEmpty(expression)) {
 			return expression;
@@ -236,7 +222,7 @@ public class RequestParameterProducer {
 		return expressionResult.toString();
 	}
 	
-	private boolean shouldDoBeanValidation(Param requestParameter) {
+	private static boolean shouldDoBeanValidation(Param requestParameter) {
 		
 		// If bean validation is explicitly disabled for this instance, immediately return false
 		if (requestParameter.disableBeanValidation()) {
@@ -268,56 +254,10 @@ public class RequestParameterProducer {
 		return violations;
 	}
 
-	private List<Validator> getValidators(Param requestParameter) {
-
-		List<Validator> validators = new ArrayList<Validator>();
-
-		Class<? extends Validator>[] validatorClasses = requestParameter.validatorClasses();
-		String[] validatorNames = requestParameter.validators();
-
-		for (String validatorName : validatorNames) {
-			Object validator = evaluateExpressionGet(validatorName);
-			if (validator instanceof Validator) {
-				validators.add((Validator) validator);
-			} else if (validator instanceof String) {
-				validators.add(getApplication().createValidator(validatorName));
-			}
-		}
-
-		for (Class<? extends Validator> validatorClass : validatorClasses) {
-			validators.add(instance(validatorClass));
-		}
-		
-		// Process the default validators
-		
-		Application application = getApplication();
-		for (Entry<String, String> validatorEntry :	application.getDefaultValidatorInfo().entrySet()) {
-			
-			String validatorID = validatorEntry.getKey();
-			String validatorClassName = validatorEntry.getValue();
-			
-			// Check that the validator ID is not the BeanValidator one which we handle in a special way.
-			// And make sure the default validator is not already set manually as well.
-			if (!validatorID.equals(BeanValidator.VALIDATOR_ID) && !containsByClassName(validators, validatorClassName)) {
-				validators.add(application.createValidator(validatorID));
-			}
-		}
-
-		// Set the attributes on all instantiated validators. We don't distinguish here
-		// which attribute should go to which validator.
-		Map<String, Object> validatorAttributes = getValidatorAttributes(requestParameter);
-		for (Validator validator : validators) {
-			setAttributes(validator, validatorAttributes);
-		}
-
-		return validators;
-	}
-	
-	private static Map<String, Object> getConverterAttributes(Param requestParameter) {
+	private static Map<String, Object> getAttributes(Attribute[] attributes) {
 
 		Map<String, Object> attributeMap = new HashMap<String, Object>();
 
-		Attribute[] attributes = requestParameter.converterAttributes();
 		for (Attribute attribute : attributes) {
 			attributeMap.put(attribute.name(), evaluateExpressionGet(attribute.value()));
 		}
@@ -325,30 +265,19 @@ public class RequestParameterProducer {
 		return attributeMap;
 	}
 
-	private Map<String, Object> getValidatorAttributes(Param requestParameter) {
-
-		Map<String, Object> attributeMap = new HashMap<String, Object>();
+	private static void setAttributes(Object object, Map<String, Object> attributes) {
 
-		Attribute[] attributes = requestParameter.validatorAttributes();
-		for (Attribute attribute : attributes) {
-			attributeMap.put(attribute.name(), evaluateExpressionGet(attribute.value()));
+		if (attributes.isEmpty()) {
+			return;
 		}
 
-		return attributeMap;
-	}
-
-	private static void setAttributes(Object object, Map<String, Object> attributes) {
 		try {
-			for (PropertyDescriptor property : getBeanInfo(object.getClass()).getPropertyDescriptors()) {
-				Method setter = property.getWriteMethod();
+			for (Entry<String, PropertyDescriptor> entry : getWritableProperties(object.getClass()).entrySet()) {
+				PropertyDescriptor property = entry.getValue();
 
-				if (setter == null) {
-					continue;
-				}
+				if (attributes.containsKey(entry.getKey())) {
 
-				if (attributes.containsKey(property.getName())) {
-
-					Object value = attributes.get(property.getName());
+					Object value = attributes.get(entry.getKey());
 					if (value instanceof String && !property.getPropertyType().equals(String.class)) {
 
 						// Try to convert Strings to the type expected by the converter
@@ -367,6 +296,27 @@ public class RequestParameterProducer {
 		}
 	}
 
+	private static Map<String, PropertyDescriptor> getWritableProperties(Class<?> type) throws Exception {
+
+		Map<String, PropertyDescriptor> properties = writablePropertiesCache.get(type);
+
+		if (properties == null) {
+			properties = new HashMap<String, PropertyDescriptor>();
+
+			for (PropertyDescriptor property : getBeanInfo(type).getPropertyDescriptors()) {
+				Method setter = property.getWriteMethod();
+
+				if (setter != null) {
+					properties.put(property.getName(), property);
+				}
+			}
+
+			writablePropertiesCache.putIfAbsent(type, properties);
+		}
+
+		return properties;
+	}
+
 	private void addConverterMessage(FacesContext context, UIComponent component, String label, String submittedValue, ConverterException ce, String converterMessage) {
 		FacesMessage message = null;
 
@@ -452,4 +402,235 @@ public class RequestParameterProducer {
 		return null;
 	}
 
+	/**
+	 * Key of an injection point in the metadata cache. The member alone is not sufficient, because multiple
+	 * parameters of the same method or constructor can be injected.
+	 */
+	private static final class InjectionPointKey {
+
+		private final Member member;
+		private final Type type;
+		private final int position;
+
+		public InjectionPointKey(InjectionPoint injectionPoint) {
+			member = injectionPoint.getMember();
+			type = injectionPoint.getType();
+			position = (injectionPoint.getAnnotated() instanceof AnnotatedParameter)
+				? ((AnnotatedParameter<?>) injectionPoint.getAnnotated()).getPosition() : -1;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof InjectionPointKey)) {
+				return false;
+			}
+
+			InjectionPointKey other = (InjectionPointKey) object;
+			return member.equals(other.member) && type.equals(other.type) && position == other.position;
+		}
+
+		@Override
+		public int hashCode() {
+			return (member.hashCode() * 31 + type.hashCode()) * 31 + position;
+		}
+
+	}
+
+	/**
+	 * A string attribute of the {@link Param} annotation, which is evaluated on every request only if it's actually
+	 * an EL expression.
+	 */
+	private static final class StringAttribute {
+
+		private final String value;
+		private final boolean expression;
+
+		public StringAttribute(String value) {
+			this.value = value;
+			expression = isExpression(value);
+		}
+
+		public String get() {
+			return expression ? evaluateExpressionAsString(value) : value;
+		}
+
+	}
+
+	/**
+	 * All metadata of a single injection point which doesn't change per request.
+	 */
+	private static final class InjectionPointMetadata {
+
+		private final Param requestParameter;
+		private final Class<?> targetType;
+		private final Class<?> beanClass;
+		private final String propertyName;
+		private final StringAttribute name;
+		private final StringAttribute label;
+		private final StringAttribute requiredMessage;
+		private final StringAttribute validatorMessage;
+		private final StringAttribute converterMessage;
+		private final boolean beanValidation;
+		private volatile Boolean constrained;
+		private final ConverterMetadata converter;
+
+		private final String[] validatorNames;
+		private final boolean[] validatorExpressions;
+		private final Map<String, Object> validatorAttributes;
+		private final boolean validatorAttributesDynamic;
+
+		public InjectionPointMetadata(InjectionPoint injectionPoint) {
+			requestParameter = getQualifier(injectionPoint, Param.class);
+			targetType = getTargetType(injectionPoint);
+			beanClass = injectionPoint.getBean().getBeanClass();
+			propertyName = injectionPoint.getMember().getName();
+			name = new StringAttribute(isEmpty(requestParameter.name()) ? propertyName : requestParameter.name());
+			label = isEmpty(requestParameter.label()) ? name : new StringAttribute(requestParameter.label());
+			requiredMessage = new StringAttribute(requestParameter.requiredMessage());
+			validatorMessage = new StringAttribute(requestParameter.validatorMessage());
+			converterMessage = new StringAttribute(requestParameter.converterMessage());
+			beanValidation = shouldDoBeanValidation(requestParameter);
+
+			converter = new ConverterMetadata(requestParameter, targetType);
+
+			validatorNames = requestParameter.validators();
+			validatorExpressions = new boolean[validatorNames.length];
+			for (int i = 0; i < validatorNames.length; i++) {
+				validatorExpressions[i] = isExpression(validatorNames[i]);
+			}
+
+			validatorAttributesDynamic = hasExpression(requestParameter.validatorAttributes());
+			validatorAttributes = validatorAttributesDynamic ? null : getAttributes(requestParameter.validatorAttributes());
+		}
+
+		public String getName() {
+			return name.get();
+		}
+
+		/**
+		 * Returns whether the property of this injection point has any bean validation constraints.
+		 */
+		public boolean isConstrained() {
+			if (constrained == null) {
+				BeanDescriptor descriptor = getBeanValidator().getConstraintsForClass(beanClass);
+				constrained = descriptor.getConstraintsForProperty(propertyName) != null;
+			}
+
+			return constrained;
+		}
+
+		public String getLabel() {
+			return label.get();
+		}
+
+		public Converter getConverter() {
+			return converter.getConverter();
+		}
+
+		public List<Validator> getValidators() {
+
+			List<Validator> validators = new ArrayList<Validator>();
+			Application application = getApplication();
+
+			for (int i = 0; i < validatorNames.length; i++) {
+				Object validator = validatorExpressions[i] ? evaluateExpressionGet(validatorNames[i]) : validatorNames[i];
+				if (validator instanceof Validator) {
+					validators.add((Validator) validator);
+				} else if (validator instanceof String) {
+					validators.add(application.createValidator((String) validator));
+				}
+			}
+
+			for (Class<? extends Validator> validatorClass : requestParameter.validatorClasses()) {
+				validators.add(instance(validatorClass));
+			}
+			
+			// Process the default validators
+			
+			for (Entry<String, String> validatorEntry :	application.getDefaultValidatorInfo().entrySet()) {
+				
+				String validatorID = validatorEntry.getKey();
+				String validatorClassName = validatorEntry.getValue();
+				
+				// Check that the validator ID is not the BeanValidator one which we handle in a special way.
+				// And make sure the default validator is not already set manually as well.
+				if (!validatorID.equals(BeanValidator.VALIDATOR_ID) && !containsByClassName(validators, validatorClassName)) {
+					validators.add(application.createValidator(validatorID));
+				}
+			}
+
+			// Set the attributes on all instantiated validators. We don't distinguish here
+			// which attribute should go to which validator.
+			Map<String, Object> attributes = validatorAttributesDynamic
+				? getAttributes(requestParameter.validatorAttributes()) : validatorAttributes;
+			for (Validator validator : validators) {
+				setAttributes(validator, attributes);
+			}
+
+			return validators;
+		}
+
+	}
+
+	/**
+	 * All metadata of the converter of a single injection point which doesn't change per request.
+	 */
+	private static final class ConverterMetadata {
+
+		private final Param requestParameter;
+		private final Class<?> targetType;
+		private final String converterExpression;
+		private final String converterId;
+		private final Class<? extends Converter> converterClass;
+		private final Map<String, Object> converterAttributes;
+		private final boolean converterAttributesDynamic;
+
+		public ConverterMetadata(Param requestParameter, Class<?> targetType) {
+			this.requestParameter = requestParameter;
+			this.targetType = targetType;
+
+			String converter = requestParameter.converter();
+			converterExpression = isExpression(converter) ? converter : null;
+			converterId = (!isEmpty(converter) && converterExpression == null) ? converter : null;
+			converterClass = (isEmpty(converter) && !requestParameter.converterClass().equals(Converter.class))
+				? requestParameter.converterClass() : null; // Converter.class is default, representing null
+			converterAttributesDynamic = hasExpression(requestParameter.converterAttributes());
+			converterAttributes = converterAttributesDynamic ? null : getAttributes(requestParameter.converterAttributes());
+		}
+
+		public Converter getConverter() {
+
+			Converter converter = null;
+
+			if (converterExpression != null) {
+				Object expressionResult = evaluateExpressionGet(converterExpression);
+				if (expressionResult instanceof Converter) {
+					converter = (Converter) expressionResult;
+				} else if (expressionResult instanceof String) {
+					converter = getApplication().createConverter((String) expressionResult);
+				}
+			} else if (converterId != null) {
+				converter = getApplication().createConverter(converterId);
+			} else if (converterClass != null) {
+				converter = instance(converterClass);
+			}
+
+			if (converter == null) {
+				try {
+					converter = getApplication().createConverter(targetType);
+				} catch (Exception e) {
+					return null;
+				}
+			}
+
+			if (converter != null) {
+				setAttributes(converter, converterAttributesDynamic
+					? getAttributes(requestParameter.converterAttributes()) : converterAttributes);
+			}
+
+			return converter;
+		}
+
+	}
+
 }
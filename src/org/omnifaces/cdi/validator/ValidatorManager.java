@@ -17,9 +17,15 @@ package org.omnifaces.cdi.validator;
 
 import static org.omnifaces.util.Beans.getReference;
 import static org.omnifaces.util.Beans.resolve;
+import static java.util.logging.Level.FINE;
+import static org.omnifaces.util.Utils.getOrCompute;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.spi.Bean;
@@ -32,6 +38,7 @@ import javax.inject.Inject;
 
 import org.omnifaces.application.OmniApplication;
 import org.omnifaces.application.ValidatorProvider;
+import org.omnifaces.eventlistener.ConverterValidatorPreloaderEventListener;
 
 /**
  * Provides access to all {@link FacesValidator} annotated {@link Validator} instances which are made eligible for CDI.
@@ -41,39 +48,73 @@ import org.omnifaces.application.ValidatorProvider;
  * WAR got its own instance injected and only one of them will have access to the collected validators. Since OmniFaces
  * 1.6.1, the whole extension is removed and the validators are now lazily collected in this manager class. See also
  * <a href="https://code.google.com/p/omnifaces/issues/detail?id=251">issue 251</a>.
+ * <p>
+ * Since OmniFaces 1.8, the validators can optionally be collected during startup of the web application, see
+ * {@link ConverterValidatorPreloaderEventListener}. This still goes through the JSF application of the very same WAR,
+ * so validators which are overridden in its <code>faces-config.xml</code> are taken into account.
  *
  * @author Radu Creanga <rdcrng@gmail.com>
  * @author Bauke Scholtz
  * @see OmniApplication
+ * @see ConverterValidatorPreloaderEventListener
  * @since 1.6
  */
 @ApplicationScoped
 public class ValidatorManager implements ValidatorProvider {
 
+	// Constants ------------------------------------------------------------------------------------------------------
+
+	private static final Logger logger = Logger.getLogger(ValidatorManager.class.getName());
+
+	private static final String LOG_PRELOAD_FAILED = "Preloading validator '%s' failed. It will be retried on first use.";
+
 	// Dependencies ---------------------------------------------------------------------------------------------------
 
 	@Inject
 	private BeanManager manager;
-	private Map<String, Bean<Validator>> validatorsById = new HashMap<String, Bean<Validator>>();
+	private final ConcurrentMap<String, Future<Bean<Validator>>> validatorsById =
+		new ConcurrentHashMap<String, Future<Bean<Validator>>>();
 
 	// Actions --------------------------------------------------------------------------------------------------------
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public Validator createValidator(Application application, String validatorId) {
-		Bean<Validator> bean = validatorsById.get(validatorId);
+		Bean<Validator> bean = getValidatorBean(application, validatorId);
+		return (bean != null) ? getReference(manager, bean) : null;
+	}
 
-		if (bean == null && !validatorsById.containsKey(validatorId)) {
-			Validator validator = application.createValidator(validatorId);
+	/**
+	 * Resolve and cache the validator beans of all validator IDs which are registered in the given application, so
+	 * that the first requests which need them do not need to instantiate and resolve them anymore. A validator which
+	 * cannot be created is skipped, so that it fails the same way on first use.
+	 * @param application The JSF application to obtain and create the registered validators from. This must be the
+	 * application wrapped by {@link OmniApplication}.
+	 * @since 1.8
+	 */
+	public void preload(Application application) {
+		for (Iterator<String> iterator = application.getValidatorIds(); iterator.hasNext();) {
+			String validatorId = iterator.next();
 
-			if (validator != null) {
-				bean = (Bean<Validator>) resolve(manager, validator.getClass());
+			try {
+				getValidatorBean(application, validatorId);
+			}
+			catch (RuntimeException e) {
+				logger.log(FINE, String.format(LOG_PRELOAD_FAILED, validatorId), e);
 			}
-
-			validatorsById.put(validatorId, bean);
 		}
+	}
 
-		return (bean != null) ? getReference(manager, bean) : null;
+	// Helpers --------------------------------------------------------------------------------------------------------
+
+	private Bean<Validator> getValidatorBean(final Application application, final String validatorId) {
+		return getOrCompute(validatorsById, validatorId, new Callable<Bean<Validator>>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public Bean<Validator> call() {
+				Validator validator = application.createValidator(validatorId);
+				return (validator != null) ? (Bean<Validator>) resolve(manager, validator.getClass()) : null;
+			}
+		});
 	}
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -28,10 +28,15 @@ import javax.enterprise.inject.spi.BeanManager;
 import javax.faces.component.UIViewRoot;
 import javax.faces.context.FacesContext;
 
+import org.omnifaces.cdi.BeanStorage;
 import org.omnifaces.cdi.ViewScoped;
 
 /**
  * Provide a context for the {@link ViewScoped} annotation wherein beans are managed by {@link ViewScopeManager}.
+ * <p>
+ * The CDI bean storage of the current view is resolved only once per request for every view root via the session
+ * scoped view scope manager, and then memoized in the faces context. Subsequent bean lookups during the same request
+ * go directly to the CDI bean storage, without going through the session scoped proxy of the view scope manager.
  *
  * @author Radu Creanga <rdcrng@gmail.com>
  * @author Bauke Scholtz
@@ -43,9 +48,9 @@ public class ViewScopeContext implements Context {
 
 	// Variables ------------------------------------------------------------------------------------------------------
 
-	private BeanManager manager;
-	private Bean<ViewScopeManager> bean;
-	private ViewScopeManager viewScopeManager;
+	private final BeanManager manager;
+	private final Bean<ViewScopeManager> bean;
+	private volatile ViewScopeManager viewScopeManager;
 
 	// Constructors ---------------------------------------------------------------------------------------------------
 
@@ -70,50 +75,69 @@ public class ViewScopeContext implements Context {
 	}
 
 	/**
-	 * Returns <code>true</code> if there is a {@link FacesContext}, and it has a {@link UIViewRoot}, and
-	 * {@link #isInitialized()} has returned <code>true</code>.
+	 * Returns <code>true</code> if there is a {@link FacesContext}, and it has a {@link UIViewRoot}, and the view scope
+	 * manager is available.
 	 */
 	@Override
 	public boolean isActive() {
 		FacesContext context = FacesContext.getCurrentInstance();
-		return context != null && context.getViewRoot() != null && isInitialized();
+		return context != null && context.getViewRoot() != null && getViewScopeManager() != null;
 	}
 
 	@Override
 	public <T> T get(Contextual<T> type) {
-		checkActive();
-		return viewScopeManager.getBean(type);
+		return getBeanStorage().getBean(type, manager);
 	}
 
 	@Override
 	public <T> T get(Contextual<T> type, CreationalContext<T> context) {
-		checkActive();
-		T bean = viewScopeManager.getBean(type);
-		return (bean != null) ? bean : viewScopeManager.createBean(type, context);
+		BeanStorage storage = getBeanStorage();
+		T bean = storage.getBean(type, manager);
+		return (bean != null) ? bean : storage.createBean(type, context);
 	}
 
 	// Helpers --------------------------------------------------------------------------------------------------------
 
 	/**
-	 * Check and initialize the view scope manager.
-	 * @return <code>true</code> if it has been initialized.
+	 * Returns the view scope manager. It's a client proxy which is obtained lazily once and is safe to share across
+	 * threads. In the worst case, concurrent threads obtain the very same client proxy twice.
 	 */
-	private boolean isInitialized() {
+	private ViewScopeManager getViewScopeManager() {
+		ViewScopeManager viewScopeManager = this.viewScopeManager;
+
 		if (viewScopeManager == null) {
 			viewScopeManager = getReference(manager, bean);
+			this.viewScopeManager = viewScopeManager;
 		}
 
-		return viewScopeManager != null;
+		return viewScopeManager;
 	}
 
 	/**
-	 * Throws {@link ContextNotActiveException} when {@link #isActive()} returns <code>false</code>.
-	 * @throws ContextNotActiveException
+	 * Returns the CDI bean storage of the current view. It's first looked up in the current faces context and only if
+	 * it's not resolved yet for the current view root, then it's resolved via the view scope manager.
+	 * @throws ContextNotActiveException When there is no faces context, or no view root, or no view scope manager.
 	 */
-	private void checkActive() throws ContextNotActiveException {
-		if (!isActive()) {
+	private BeanStorage getBeanStorage() throws ContextNotActiveException {
+		FacesContext context = FacesContext.getCurrentInstance();
+
+		if (context == null || context.getViewRoot() == null) {
 			throw new ContextNotActiveException();
 		}
+
+		BeanStorage storage = ViewScopeManager.getResolvedBeanStorage(context);
+
+		if (storage == null) {
+			ViewScopeManager viewScopeManager = getViewScopeManager();
+
+			if (viewScopeManager == null) {
+				throw new ContextNotActiveException();
+			}
+
+			storage = viewScopeManager.getBeanStorage();
+		}
+
+		return storage;
 	}
 
-}
\ No newline at end of file
+}
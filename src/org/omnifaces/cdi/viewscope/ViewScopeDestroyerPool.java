@@ -0,0 +1,98 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.cdi.viewscope;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.omnifaces.util.DaemonThreadFactory;
+
+/**
+ * The thread pool which asynchronously destroys the view scopes evicted by {@link ViewScopeManager}. This is kept
+ * separate from {@link ViewScopeManager}, so that {@link ViewScopeDestroyerShutdownEventListener} can shut it down
+ * without loading any CDI classes, also when CDI is not available.
+ *
+ * @since 1.8
+ */
+final class ViewScopeDestroyerPool {
+
+	// Constants ------------------------------------------------------------------------------------------------------
+
+	private static final String THREAD_NAME = "omnifaces-viewscope-destroyer";
+	private static final long KEEP_ALIVE = 60; // seconds
+	private static final long SHUTDOWN_TIMEOUT = 10; // seconds
+
+	// Static variables -----------------------------------------------------------------------------------------------
+
+	private static volatile ExecutorService executor;
+
+	// Constructors ---------------------------------------------------------------------------------------------------
+
+	private ViewScopeDestroyerPool() {
+		// Hide constructor.
+	}
+
+	// Actions --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Execute the given destroyer in the thread pool. The thread pool is lazily created once with the given fixed
+	 * amount of daemon threads, which time out when idle, and a task queue of the same size.
+	 * @param destroyer The destroyer to be executed.
+	 * @param threads The amount of threads, only used when the thread pool is created.
+	 * @throws RejectedExecutionException When the thread pool can't accept any more work, or has been shut down.
+	 */
+	static void execute(Runnable destroyer, int threads) {
+		if (executor == null) {
+			synchronized (ViewScopeDestroyerPool.class) {
+				if (executor == null) {
+					ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE, TimeUnit.SECONDS,
+						new ArrayBlockingQueue<Runnable>(threads), new DaemonThreadFactory(THREAD_NAME));
+					pool.allowCoreThreadTimeOut(true);
+					executor = pool;
+				}
+			}
+		}
+
+		executor.execute(destroyer);
+	}
+
+	/**
+	 * Orderly shut down the thread pool, if it has ever been created: no new destroyers are accepted anymore, but the
+	 * running ones will still drain the destroy queue. This waits at most {@value #SHUTDOWN_TIMEOUT} seconds for them
+	 * and then interrupts the remaining ones. Destroyers which are executed afterwards are rejected, so that the view
+	 * scopes are destroyed synchronously.
+	 */
+	static void shutdown() {
+		ExecutorService pool = executor;
+
+		if (pool == null) {
+			return;
+		}
+
+		pool.shutdown();
+
+		try {
+			if (!pool.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+				pool.shutdownNow();
+			}
+		}
+		catch (InterruptedException e) {
+			pool.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
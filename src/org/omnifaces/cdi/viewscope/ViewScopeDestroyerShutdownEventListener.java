@@ -0,0 +1,35 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.cdi.viewscope;
+
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.SystemEvent;
+
+import org.omnifaces.eventlistener.DefaultSystemEventListener;
+
+/**
+ * This event listener orderly shuts down the thread pool which asynchronously destroys evicted view scopes when the
+ * JSF application is destroyed. It's registered by OmniFaces' own <code>faces-config.xml</code> on the
+ * <code>PreDestroyApplicationEvent</code>, so end-users do not need to register it themselves.
+ *
+ * @since 1.8
+ * @see ViewScopeManager#PARAM_NAME_DESTROY_THREADS
+ */
+public class ViewScopeDestroyerShutdownEventListener extends DefaultSystemEventListener {
+
+	@Override
+	public void processEvent(SystemEvent event) throws AbortProcessingException {
+		ViewScopeDestroyerPool.shutdown();
+	}
+
+}
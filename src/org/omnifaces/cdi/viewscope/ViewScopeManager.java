@@ -15,13 +15,24 @@
  */
 package org.omnifaces.cdi.viewscope;
 
+import static javax.faces.event.PhaseId.RENDER_RESPONSE;
+import static org.omnifaces.util.Events.addCallbackAfterPhaseListener;
 import static org.omnifaces.util.Faces.getInitParameter;
 import static org.omnifaces.util.Faces.getViewAttribute;
 import static org.omnifaces.util.Faces.setViewAttribute;
 
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -29,24 +40,45 @@ import javax.enterprise.context.SessionScoped;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.FacesContext;
 import javax.inject.Inject;
 
 import org.omnifaces.application.ViewScopeEventListener;
 import org.omnifaces.application.ViewScopeProvider;
 import org.omnifaces.cdi.BeanStorage;
 import org.omnifaces.cdi.ViewScoped;
+import org.omnifaces.util.Callback;
 import org.omnifaces.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import org.omnifaces.util.concurrentlinkedhashmap.EntryWeigher;
 import org.omnifaces.util.concurrentlinkedhashmap.EvictionListener;
 
 /**
  * Manage the view scoped beans by listening on view scope and session scope creation and destroy.
  * The view scope destroy is done externally with aid of {@link ViewScopeEventListener} which is registered in
  * <code>faces-config.xml</code>.
+ * <p>
+ * The LRU map of active view scopes in the session can optionally be bounded by an estimated size. When a maximum size
+ * across all sessions is configured, then all active view scopes of all sessions are additionally tracked in an
+ * application wide LRU map bounded by that size. The size of a view scope is estimated by serializing its beans after
+ * the render response of a request which has accessed it, but only when the amount of beans has changed or otherwise
+ * once per {@value #ESTIMATE_SIZE_SAMPLE_INTERVAL} such requests. See javadoc of {@link ViewScoped} for configuration
+ * details and {@link ViewScopeStatistics} for the statistics.
+ * <p>
+ * Evicted view scopes and the view scopes of a destroyed session can optionally be destroyed asynchronously by a
+ * bounded pool of threads, configurable by the {@value #PARAM_NAME_DESTROY_THREADS} context parameter. The view
+ * scopes are then put in a queue which is drained in batches by at most the configured amount of threads, so that
+ * the {@link PreDestroy} methods of evicted beans don't add latency to the request which happened to trigger the
+ * eviction, nor stall the thread which expires the sessions. Note that the {@link PreDestroy} methods are then
+ * invoked without any active request or session context. If the pool can't accept any more work, then the view
+ * scopes are destroyed synchronously as before. The pool is shut down when the JSF application is destroyed with aid of
+ * {@link ViewScopeDestroyerShutdownEventListener} which is registered in <code>faces-config.xml</code>.
  *
  * @author Radu Creanga <rdcrng@gmail.com>
  * @author Bauke Scholtz
  * @see ViewScoped
  * @see ViewScopeContext
+ * @see ViewScopeStatistics
  * @since 1.6
  */
 @SessionScoped
@@ -66,26 +98,73 @@ public class ViewScopeManager implements ViewScopeProvider, Serializable {
 	public static final String PARAM_NAME_MYFACES_NUMBER_OF_VIEWS =
 		"org.apache.myfaces.NUMBER_OF_VIEWS_IN_SESSION";
 
+	/**
+	 * OmniFaces specific context parameter name of maximum estimated size of all active view scopes in session, in
+	 * kilobytes.
+	 * @since 1.8
+	 */
+	public static final String PARAM_NAME_MAX_SESSION_SIZE =
+		"org.omnifaces.VIEW_SCOPE_MANAGER_MAX_SESSION_SIZE";
+
+	/**
+	 * OmniFaces specific context parameter name of maximum estimated size of all active view scopes across all
+	 * sessions, in kilobytes.
+	 * @since 1.8
+	 */
+	public static final String PARAM_NAME_MAX_TOTAL_SIZE =
+		"org.omnifaces.VIEW_SCOPE_MANAGER_MAX_TOTAL_SIZE";
+
+	/**
+	 * OmniFaces specific context parameter name of amount of threads which asynchronously destroy evicted view scopes
+	 * and view scopes of destroyed sessions. Defaults to 0, which means that they are destroyed synchronously.
+	 * @since 1.8
+	 */
+	public static final String PARAM_NAME_DESTROY_THREADS =
+		"org.omnifaces.VIEW_SCOPE_MANAGER_DESTROY_THREADS";
+
 	/** Default value of maximum active view scopes in session. */
 	public static final int DEFAULT_MAX_ACTIVE_VIEW_SCOPES = 20; // Mojarra's default is 15 and MyFaces' default is 20.
 
 	// Private constants ----------------------------------------------------------------------------------------------
 
 	private static final long serialVersionUID = 42L;
+	private static final Logger logger = Logger.getLogger(ViewScopeManager.class.getName());
+
 	private static final String[] PARAM_NAMES_MAX_ACTIVE_VIEW_SCOPES = {
 		PARAM_NAME_MAX_ACTIVE_VIEW_SCOPES, PARAM_NAME_MOJARRA_NUMBER_OF_VIEWS, PARAM_NAME_MYFACES_NUMBER_OF_VIEWS
 	};
 	private static final int DEFAULT_BEANS_PER_VIEW_SCOPE = 3;
+	private static final int KILOBYTE = 1024;
+	private static final int ESTIMATE_SIZE_SAMPLE_INTERVAL = 10;
+	private static final String ATTRIBUTE_RESOLVED_VIEW_SCOPE = ViewScopeManager.class.getName() + ".RESOLVED";
 	private static final String ERROR_MAX_ACTIVE_VIEW_SCOPES = "The '%s' init param must be a number."
 		+ " Encountered an invalid value of '%s'.";
+	private static final String LOG_DESTROY_FAILED = "Destroying beans of an evicted or expired view scope failed.";
 
 	// Static variables -----------------------------------------------------------------------------------------------
 
 	private static Integer maxActiveViewScopes;
+	private static Long maxSessionSize;
+	private static Long maxTotalSize;
+	private static Integer destroyThreads;
+
+	private static final ConcurrentLinkedHashMap<UUID, ActiveViewScope> allActiveViewScopes =
+		new ConcurrentLinkedHashMap.Builder<UUID, ActiveViewScope>()
+			.maximumWeightedCapacity(Long.MAX_VALUE)
+			.weigher(new ActiveViewScopeWeigher())
+			.listener(new ActiveViewScopeEvictionListener())
+			.build();
+
+	private static final ViewScopeStatistics statistics = new ViewScopeStatistics(allActiveViewScopes);
+	private static final ConcurrentLinkedQueue<BeanStorage> destroyQueue = new ConcurrentLinkedQueue<BeanStorage>();
+	private static final AtomicInteger activeDestroyers = new AtomicInteger();
 
 	// Variables ------------------------------------------------------------------------------------------------------
 
 	private ConcurrentMap<UUID, BeanStorage> activeViewScopes;
+	private ConcurrentLinkedQueue<BeanStorage> evictedViewScopes;
+	private long idSalt;
+	private AtomicLong idCounter;
 
 	@Inject
 	private BeanManager manager;
@@ -98,10 +177,24 @@ public class ViewScopeManager implements ViewScopeProvider, Serializable {
 	 */
 	@PostConstruct
 	public void postConstructSession() {
-		activeViewScopes = new ConcurrentLinkedHashMap.Builder<UUID, BeanStorage>()
-			.maximumWeightedCapacity(getMaxActiveViewScopes())
-			.listener(new BeanStorageEvictionListener())
-			.build();
+		ConcurrentLinkedHashMap.Builder<UUID, BeanStorage> builder =
+			new ConcurrentLinkedHashMap.Builder<UUID, BeanStorage>()
+				.maximumWeightedCapacity(getMaxActiveViewScopes())
+				.listener(new BeanStorageEvictionListener());
+		long maxSessionSize = getMaxSessionSize();
+
+		if (maxSessionSize > 0) {
+			long minimumWeight = Math.max(1, maxSessionSize / Math.max(1, getMaxActiveViewScopes()));
+			builder.maximumWeightedCapacity(maxSessionSize)
+				.weigher(new BeanStorageWeigher((int) Math.min(Integer.MAX_VALUE, minimumWeight)));
+		}
+
+		activeViewScopes = builder.build();
+		evictedViewScopes = new ConcurrentLinkedQueue<BeanStorage>();
+		idSalt = UUID.randomUUID().getMostSignificantBits();
+		idCounter = new AtomicLong();
+		getMaxTotalSize();
+		getDestroyThreads();
 	}
 
 	/**
@@ -111,7 +204,7 @@ public class ViewScopeManager implements ViewScopeProvider, Serializable {
 	 * @return The created CDI view scoped managed bean from the current JSF view scope.
 	 */
 	public <T> T createBean(Contextual<T> type, CreationalContext<T> context) {
-		return activeViewScopes.get(getBeanStorageId(true)).createBean(type, context);
+		return getBeanStorage().createBean(type, context);
 	}
 
 	/**
@@ -120,7 +213,7 @@ public class ViewScopeManager implements ViewScopeProvider, Serializable {
 	 * @return The CDI view scoped managed bean from the current JSF view scope.
 	 */
 	public <T> T getBean(Contextual<T> type) {
-		return activeViewScopes.get(getBeanStorageId(true)).getBean(type, manager);
+		return getBeanStorage().getBean(type, manager);
 	}
 
 	/**
@@ -129,25 +222,54 @@ public class ViewScopeManager implements ViewScopeProvider, Serializable {
 	 */
 	@Override
 	public void preDestroyView() {
-		BeanStorage storage = activeViewScopes.remove(getBeanStorageId(false));
+		UUID id = getViewAttribute(ViewScopeManager.class.getName());
 
-		if (storage != null) {
-			storage.destroyBeans();
+		if (id != null) {
+			BeanStorage storage = activeViewScopes.remove(id);
+
+			if (storage != null) {
+				destroyBeans(id, storage, false);
+			}
 		}
 	}
 
 	/**
-	 * This method is invoked during session destroy, in that case destroy all beans in all active view scopes.
+	 * This method is invoked during session destroy, in that case destroy all beans in all active view scopes, and in
+	 * all view scopes which are evicted from the application wide LRU map but not destroyed yet.
 	 */
 	@PreDestroy
 	public void preDestroySession() {
-		for (BeanStorage storage : activeViewScopes.values()) {
-			storage.destroyBeans();
+		for (Entry<UUID, BeanStorage> entry : activeViewScopes.entrySet()) {
+			destroyBeans(entry.getKey(), entry.getValue(), true);
 		}
+
+		destroyEvictedViewScopes();
+		clearResolvedViewScope(null);
+	}
+
+	// Getters --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the statistics of the OmniFaces CDI view scope across all sessions of the current web application.
+	 * @return The statistics of the OmniFaces CDI view scope across all sessions of the current web application.
+	 * @since 1.8
+	 */
+	public static ViewScopeStatistics getStatistics() {
+		return statistics;
 	}
 
 	// Helpers --------------------------------------------------------------------------------------------------------
 
+	/**
+	 * Returns the CDI bean storage which has been resolved by {@link #getBeanStorage()} for the current view root of
+	 * the given faces context, or <code>null</code> if there is none. This is static, so that {@link ViewScopeContext}
+	 * can obtain the CDI bean storage without going through the session scoped proxy of this view scope manager.
+	 */
+	static BeanStorage getResolvedBeanStorage(FacesContext context) {
+		ResolvedViewScope resolved = (ResolvedViewScope) context.getAttributes().get(ATTRIBUTE_RESOLVED_VIEW_SCOPE);
+		return (resolved != null && resolved.viewRoot == context.getViewRoot()) ? resolved.storage : null;
+	}
+
 	/**
 	 * Returns the max active view scopes depending on available context params. This will be calculated lazily once
 	 * and re-returned everytime; the faces context is namely not available during class' initialization/construction,
@@ -175,24 +297,207 @@ public class ViewScopeManager implements ViewScopeProvider, Serializable {
 	}
 
 	/**
-	 * Returns the unique ID from the current JSF view scope which is to be associated with the CDI bean storage.
-	 * If none is found, then a new ID will be auto-created. If <code>create</code> is <code>true</code>, then a new
-	 * CDI bean storage will also be auto-created.
+	 * Returns the max estimated size of active view scopes in session in kilobytes, or 0 if there is no such maximum.
+	 * This will be calculated lazily once and re-returned everytime.
 	 */
-	private UUID getBeanStorageId(boolean create) {
-		UUID id = (UUID) getViewAttribute(ViewScopeManager.class.getName());
+	private static long getMaxSessionSize() {
+		if (maxSessionSize == null) {
+			maxSessionSize = getSizeInitParameter(PARAM_NAME_MAX_SESSION_SIZE);
+		}
 
-		if (id == null || activeViewScopes.get(id) == null) {
-			id = UUID.randomUUID();
+		return maxSessionSize;
+	}
 
-			if (create) {
-				activeViewScopes.put(id, new BeanStorage(DEFAULT_BEANS_PER_VIEW_SCOPE));
+	/**
+	 * Returns the max estimated size of active view scopes across all sessions in kilobytes, or 0 if there is no such
+	 * maximum. This will be calculated lazily once and re-returned everytime. The first time, it will also be applied
+	 * on the application wide LRU map of active view scopes.
+	 */
+	private static long getMaxTotalSize() {
+		if (maxTotalSize == null) {
+			long size = getSizeInitParameter(PARAM_NAME_MAX_TOTAL_SIZE);
+
+			if (size > 0) {
+				allActiveViewScopes.setCapacity(size);
 			}
 
+			maxTotalSize = size;
+		}
+
+		return maxTotalSize;
+	}
+
+	/**
+	 * Returns the amount of threads which asynchronously destroy view scopes, or 0 if they are to be destroyed
+	 * synchronously. This will be calculated lazily once during a post construct and re-returned everytime; view scopes
+	 * are namely also destroyed during session expiration, when the faces context is not available.
+	 */
+	private static int getDestroyThreads() {
+		if (destroyThreads == null) {
+			destroyThreads = (int) Math.min(Integer.MAX_VALUE, getSizeInitParameter(PARAM_NAME_DESTROY_THREADS));
+		}
+
+		return destroyThreads;
+	}
+
+	private static long getSizeInitParameter(String name) {
+		String value = getInitParameter(name);
+
+		if (value == null) {
+			return 0;
+		}
+		else if (value.matches("[0-9]{1,15}")) {
+			return Long.valueOf(value);
+		}
+		else {
+			throw new IllegalArgumentException(String.format(ERROR_MAX_ACTIVE_VIEW_SCOPES, name, value));
+		}
+	}
+
+	/**
+	 * Returns the CDI bean storage associated with the unique ID from the current JSF view scope. If none is found,
+	 * then a new ID and CDI bean storage will be auto-created. The result is memoized in the current faces context for
+	 * the current view root, so that subsequent invocations during the same request cost only a single map lookup,
+	 * see also {@link #getResolvedBeanStorage(FacesContext)}.
+	 * @return The CDI bean storage associated with the current JSF view scope.
+	 */
+	BeanStorage getBeanStorage() {
+		FacesContext context = FacesContext.getCurrentInstance();
+		BeanStorage resolvedStorage = getResolvedBeanStorage(context);
+
+		if (resolvedStorage != null) {
+			return resolvedStorage;
+		}
+
+		destroyEvictedViewScopes();
+		UUID id = getViewAttribute(ViewScopeManager.class.getName());
+		BeanStorage storage = (id != null) ? activeViewScopes.get(id) : null;
+
+		if (storage == null) {
+			id = new UUID(idSalt, idCounter.incrementAndGet());
+			storage = new BeanStorage(DEFAULT_BEANS_PER_VIEW_SCOPE);
+			activeViewScopes.put(id, storage);
+			statistics.viewScopeCreated();
 			setViewAttribute(ViewScopeManager.class.getName(), id);
 		}
 
-		return id;
+		context.getAttributes().put(ATTRIBUTE_RESOLVED_VIEW_SCOPE, new ResolvedViewScope(context.getViewRoot(), id, storage));
+		trackBeanStorage(id, storage);
+		return storage;
+	}
+
+	/**
+	 * Once per request, if a maximum size across all sessions is configured, mark the given CDI bean storage as
+	 * recently used in the application wide LRU map. If any maximum size is configured, schedule the estimation of its
+	 * size after the render response, when its beans are most likely filled. The LRU maps are only reweighed when the
+	 * size is actually estimated, see {@link BeanStorage#estimateSizeIfDue(int)}.
+	 */
+	private void trackBeanStorage(final UUID id, final BeanStorage storage) {
+		if (getMaxTotalSize() > 0) {
+			ActiveViewScope activeViewScope = allActiveViewScopes.get(id);
+
+			if (activeViewScope == null || activeViewScope.storage.get() != storage) { // May happen after passivation.
+				allActiveViewScopes.put(id, new ActiveViewScope(this, storage));
+			}
+		}
+
+		if (getMaxSessionSize() > 0 || getMaxTotalSize() > 0) {
+			addCallbackAfterPhaseListener(RENDER_RESPONSE, new Callback.Void() {
+				@Override
+				public void invoke() {
+					if (!storage.estimateSizeIfDue(ESTIMATE_SIZE_SAMPLE_INTERVAL)) {
+						return;
+					}
+
+					activeViewScopes.replace(id, storage, storage); // Let the LRU maps reweigh the storage.
+					ActiveViewScope activeViewScope = allActiveViewScopes.get(id);
+
+					if (activeViewScope != null) {
+						allActiveViewScopes.replace(id, activeViewScope, activeViewScope);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Destroy all beans in the CDI bean storages of this session which are evicted from the application wide LRU map by
+	 * another session while asynchronous destroy is not enabled. This way their {@link PreDestroy} methods are invoked
+	 * by a thread of the session they belong to.
+	 */
+	private void destroyEvictedViewScopes() {
+		for (BeanStorage storage = evictedViewScopes.poll(); storage != null; storage = evictedViewScopes.poll()) {
+			storage.destroyBeans();
+		}
+	}
+
+	/**
+	 * Destroy all beans in the given CDI bean storage and remove it from the application wide LRU map. If async is
+	 * <code>true</code> and asynchronous destroy is enabled, then it will be queued for the destroyers.
+	 */
+	private static void destroyBeans(UUID id, BeanStorage storage, boolean async) {
+		allActiveViewScopes.remove(id);
+		clearResolvedViewScope(id);
+		statistics.viewScopeDestroyed();
+
+		if (!async || !isAsyncDestroyEnabled()) {
+			storage.destroyBeans();
+		}
+		else {
+			destroyQueue.add(storage);
+			startDestroyer();
+		}
+	}
+
+	/**
+	 * Remove the CDI bean storage memoized by {@link #getBeanStorage()} from the current faces context, if any, and if
+	 * it's associated with the given ID, or with any ID if the given ID is <code>null</code>. This must be done when
+	 * the view scope or the whole session is destroyed or evicted, so that the current request doesn't continue using
+	 * a destroyed CDI bean storage.
+	 */
+	private static void clearResolvedViewScope(UUID id) {
+		FacesContext context = FacesContext.getCurrentInstance();
+
+		if (context == null) {
+			return; // Session expired or view scope evicted outside a JSF request.
+		}
+
+		Map<Object, Object> attributes = context.getAttributes();
+		ResolvedViewScope resolved = (ResolvedViewScope) attributes.get(ATTRIBUTE_RESOLVED_VIEW_SCOPE);
+
+		if (resolved != null && (id == null || id.equals(resolved.id))) {
+			attributes.remove(ATTRIBUTE_RESOLVED_VIEW_SCOPE);
+		}
+	}
+
+	private static boolean isAsyncDestroyEnabled() {
+		return destroyThreads != null && destroyThreads > 0;
+	}
+
+	/**
+	 * Start a destroyer which drains the destroy queue, if the maximum amount of active destroyers is not reached yet.
+	 * If the executor doesn't accept it, then drain the destroy queue in the current thread.
+	 */
+	private static void startDestroyer() {
+		for (int active = activeDestroyers.get(); active < destroyThreads; active = activeDestroyers.get()) {
+			if (activeDestroyers.compareAndSet(active, active + 1)) {
+				try {
+					ViewScopeDestroyerPool.execute(new Destroyer(), destroyThreads);
+				}
+				catch (RejectedExecutionException e) {
+					new Destroyer().run();
+				}
+
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the estimated size of the given CDI bean storage in kilobytes, rounded up, with a minimum of 1.
+	 */
+	private static int getWeight(BeanStorage storage) {
+		return (int) Math.min(Integer.MAX_VALUE, Math.max(1, (storage.getEstimatedSize() + KILOBYTE - 1) / KILOBYTE));
 	}
 
 	// Nested classes -------------------------------------------------------------------------------------------------
@@ -207,9 +512,144 @@ public class ViewScopeManager implements ViewScopeProvider, Serializable {
 
 		@Override
 		public void onEviction(UUID id, BeanStorage storage) {
-			storage.destroyBeans();
+			statistics.viewScopeEvicted();
+			destroyBeans(id, storage, true);
+		}
+
+	}
+
+	/**
+	 * Drains the destroy queue by destroying all beans of every queued CDI bean storage until the queue is empty. Once
+	 * finished, a new destroyer is started if the queue has been filled in the meanwhile.
+	 */
+	private static final class Destroyer implements Runnable {
+
+		@Override
+		public void run() {
+			try {
+				for (BeanStorage storage = destroyQueue.poll(); storage != null; storage = destroyQueue.poll()) {
+					try {
+						storage.destroyBeans();
+					}
+					catch (Exception e) {
+						logger.log(Level.WARNING, LOG_DESTROY_FAILED, e);
+					}
+				}
+			}
+			finally {
+				activeDestroyers.decrementAndGet();
+			}
+
+			if (!destroyQueue.isEmpty()) {
+				startDestroyer();
+			}
+		}
+
+	}
+
+	/**
+	 * Weigher for {@link ConcurrentLinkedHashMap} which weighs a CDI bean storage by its estimated size in kilobytes,
+	 * with the given minimum weight. The minimum weight makes sure that the maximum amount of active view scopes is
+	 * still respected while the map is bounded by size.
+	 */
+	private static final class BeanStorageWeigher implements EntryWeigher<UUID, BeanStorage>, Serializable {
+
+		private static final long serialVersionUID = 42L;
+
+		private final int minimumWeight;
+
+		public BeanStorageWeigher(int minimumWeight) {
+			this.minimumWeight = minimumWeight;
+		}
+
+		@Override
+		public int weightOf(UUID id, BeanStorage storage) {
+			return Math.max(minimumWeight, getWeight(storage));
+		}
+
+	}
+
+	/**
+	 * An active view scope in the application wide LRU map. It holds a reference to the view scope manager of the
+	 * session it belongs to, so that it can be removed from there when it's evicted. Both references are weak, so that
+	 * the application wide LRU map doesn't keep the view scopes of passivated sessions in memory. Such an entry is
+	 * merely dropped once it's evicted.
+	 */
+	private static final class ActiveViewScope {
+
+		private final WeakReference<ViewScopeManager> manager;
+		private final WeakReference<BeanStorage> storage;
+
+		public ActiveViewScope(ViewScopeManager manager, BeanStorage storage) {
+			this.manager = new WeakReference<ViewScopeManager>(manager);
+			this.storage = new WeakReference<BeanStorage>(storage);
+		}
+
+	}
+
+	/**
+	 * The CDI bean storage resolved during the current request for the given view root. This is the per-request handle
+	 * of the view scope which is memoized in the faces context.
+	 */
+	private static final class ResolvedViewScope {
+
+		private final UIViewRoot viewRoot;
+		private final UUID id;
+		private final BeanStorage storage;
+
+		public ResolvedViewScope(UIViewRoot viewRoot, UUID id, BeanStorage storage) {
+			this.viewRoot = viewRoot;
+			this.id = id;
+			this.storage = storage;
+		}
+
+	}
+
+	/**
+	 * Weigher for the application wide LRU map which weighs an active view scope by its estimated size in kilobytes.
+	 * If size estimation is not enabled, then every active view scope weighs 1.
+	 */
+	private static final class ActiveViewScopeWeigher implements EntryWeigher<UUID, ActiveViewScope> {
+
+		@Override
+		public int weightOf(UUID id, ActiveViewScope activeViewScope) {
+			BeanStorage storage = activeViewScope.storage.get();
+			return (storage != null) ? getWeight(storage) : 1;
+		}
+
+	}
+
+	/**
+	 * Listener for the application wide LRU map which will be invoked when an entry is evicted. It will remove the
+	 * entry from the LRU map of the session it belongs to. The eviction is usually triggered by a request of another
+	 * session, so the beans are not destroyed synchronously: they're queued for the destroyers if asynchronous destroy
+	 * is enabled, else they're handed over to the session they belong to, which destroys them during its next request
+	 * or during its own destroy.
+	 */
+	private static final class ActiveViewScopeEvictionListener implements EvictionListener<UUID, ActiveViewScope> {
+
+		@Override
+		public void onEviction(UUID id, ActiveViewScope activeViewScope) {
+			ViewScopeManager manager = activeViewScope.manager.get();
+			BeanStorage storage = activeViewScope.storage.get();
+
+			if (manager == null || storage == null || !manager.activeViewScopes.remove(id, storage)) {
+				return; // Session is passivated or the view scope is already destroyed.
+			}
+
+			statistics.viewScopeEvicted();
+			statistics.viewScopeEvictedByGlobal();
+			clearResolvedViewScope(id);
+
+			if (isAsyncDestroyEnabled()) {
+				destroyBeans(id, storage, true);
+			}
+			else {
+				statistics.viewScopeDestroyed();
+				manager.evictedViewScopes.add(storage);
+			}
 		}
 
 	}
 
-}
\ No newline at end of file
+}
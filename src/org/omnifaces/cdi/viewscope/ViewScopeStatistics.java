@@ -0,0 +1,129 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.omnifaces.cdi.viewscope;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.omnifaces.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+
+/**
+ * Statistics of the OmniFaces CDI view scope across all sessions of the current web application, as collected by
+ * {@link ViewScopeManager}. An instance can be obtained via {@link ViewScopeManager#getStatistics()}.
+ *
+ * @see ViewScopeManager
+ * @since 1.8
+ */
+public class ViewScopeStatistics {
+
+	// Properties -----------------------------------------------------------------------------------------------------
+
+	private final ConcurrentLinkedHashMap<?, ?> activeViewScopes;
+	private final AtomicLong createdViewScopes = new AtomicLong();
+	private final AtomicLong destroyedViewScopes = new AtomicLong();
+	private final AtomicLong evictedViewScopes = new AtomicLong();
+	private final AtomicLong globalEvictions = new AtomicLong();
+
+	// Constructors ---------------------------------------------------------------------------------------------------
+
+	/**
+	 * Construct new view scope statistics for the given map of all active view scopes.
+	 */
+	ViewScopeStatistics(ConcurrentLinkedHashMap<?, ?> activeViewScopes) {
+		this.activeViewScopes = activeViewScopes;
+	}
+
+	// Actions --------------------------------------------------------------------------------------------------------
+
+	void viewScopeCreated() {
+		createdViewScopes.incrementAndGet();
+	}
+
+	void viewScopeDestroyed() {
+		destroyedViewScopes.incrementAndGet();
+	}
+
+	void viewScopeEvicted() {
+		evictedViewScopes.incrementAndGet();
+	}
+
+	void viewScopeEvictedByGlobal() {
+		globalEvictions.incrementAndGet();
+	}
+
+	// Getters --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the amount of currently active view scopes across all sessions. This is the amount of created view
+	 * scopes minus the amount of destroyed view scopes, so view scopes of passivated sessions are also counted.
+	 * @return The amount of currently active view scopes across all sessions.
+	 */
+	public int getActiveViewScopes() {
+		return (int) Math.min(Integer.MAX_VALUE, createdViewScopes.get() - destroyedViewScopes.get());
+	}
+
+	/**
+	 * Returns the estimated size of all currently active view scopes across all sessions in kilobytes. Every view
+	 * scope counts as at least 1 kilobyte. The view scopes are only tracked across all sessions when
+	 * {@value ViewScopeManager#PARAM_NAME_MAX_TOTAL_SIZE} is specified, otherwise this returns 0.
+	 * @return The estimated size of all currently active view scopes across all sessions in kilobytes.
+	 */
+	public long getEstimatedSize() {
+		return activeViewScopes.weightedSize();
+	}
+
+	/**
+	 * Returns the maximum estimated size of all active view scopes across all sessions in kilobytes.
+	 * @return The maximum estimated size of all active view scopes across all sessions in kilobytes.
+	 */
+	public long getMaximumSize() {
+		return activeViewScopes.capacity();
+	}
+
+	/**
+	 * Returns the total amount of view scopes created so far.
+	 * @return The total amount of view scopes created so far.
+	 */
+	public long getCreatedViewScopes() {
+		return createdViewScopes.get();
+	}
+
+	/**
+	 * Returns the total amount of view scopes destroyed so far, for whatever reason, including evictions.
+	 * @return The total amount of view scopes destroyed so far.
+	 */
+	public long getDestroyedViewScopes() {
+		return destroyedViewScopes.get();
+	}
+
+	/**
+	 * Returns the total amount of view scopes evicted so far because either the maximum of their session or the
+	 * maximum across all sessions was reached.
+	 * @return The total amount of view scopes evicted so far.
+	 */
+	public long getEvictedViewScopes() {
+		return evictedViewScopes.get();
+	}
+
+	/**
+	 * Returns the total amount of view scopes evicted so far because the maximum across all sessions was reached. This
+	 * is a subset of {@link #getEvictedViewScopes()}.
+	 * @return The total amount of view scopes evicted so far because the maximum across all sessions was reached.
+	 */
+	public long getGlobalEvictions() {
+		return globalEvictions.get();
+	}
+
+}
@@ -61,7 +61,8 @@ public class OmniPartialViewContext extends PartialViewContextWrapper {
 
 	// Constants ------------------------------------------------------------------------------------------------------
 
-	private static final String AJAX_DATA = "var OmniFaces=OmniFaces||{};OmniFaces.Ajax={data:%s};";
+	private static final String AJAX_DATA_START = "var OmniFaces=OmniFaces||{};OmniFaces.Ajax={data:";
+	private static final String AJAX_DATA_END = "};";
 	private static final String ERROR_NO_OMNI_PVC = "There is no current OmniPartialViewContext instance.";
 
 	// Variables ------------------------------------------------------------------------------------------------------
@@ -325,7 +326,9 @@ public class OmniPartialViewContext extends PartialViewContextWrapper {
 			else {
 				if (context.arguments != null) {
 					startEval();
-					write(String.format(AJAX_DATA, Json.encode(context.arguments)));
+					write(AJAX_DATA_START);
+					Json.encode(context.arguments, this);
+					write(AJAX_DATA_END);
 					endEval();
 				}
 
@@ -1,12 +1,18 @@
 package org.omnifaces.el;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.el.ELContext;
 import javax.el.ELResolver;
 import javax.el.ValueExpression;
 import javax.el.ValueReference;
 
+import org.omnifaces.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+
 /**
  * This class contains methods that inspect expressions to reveal information about them.
  *
@@ -16,6 +22,12 @@ import javax.el.ValueReference;
  */
 public class ExpressionInspector {
 
+	private static final int MAX_METHODS_CACHE_SIZE = 1000;
+	private static final ConcurrentMap<Class<?>, Map<String, Method>> METHODS_CACHE =
+		new ConcurrentLinkedHashMap.Builder<Class<?>, Map<String, Method>>()
+			.maximumWeightedCapacity(MAX_METHODS_CACHE_SIZE)
+			.build();
+
 	/**
 	 * Gets the ValueReference from a ValueExpression, without any checks whether the property is actually
 	 * a property or if it isn't a "MethodSuffix". The property is stored as it appears in the expression,
@@ -57,20 +69,32 @@ public class ExpressionInspector {
 
 	/**
 	 * Finds a method based on the method name only. Does not support overloaded methods.
+	 * <p>
+	 * The public methods of the class of the given object are per class mapped by name in a cache, so that subsequent
+	 * calls, such as those for every row of an iterating component, don't need to scan all methods again.
 	 *
 	 * @param base the object in which the method is to be found
 	 * @param methodName name of the method to be found
 	 * @return a method if one is found, null otherwise
 	 */
 	public static Method findMethod(Object base, String methodName) {
+		Class<?> cls = base.getClass();
+		Map<String, Method> methods = METHODS_CACHE.get(cls);
 
-		for (Method method : base.getClass().getMethods()) {
-			if (method.getName().equals(methodName)) {
-				return method;
+		if (methods == null) {
+			methods = new HashMap<String, Method>();
+
+			for (Method method : cls.getMethods()) {
+				if (!methods.containsKey(method.getName())) { // The first one found wins, like before the cache.
+					methods.put(method.getName(), method);
+				}
 			}
+
+			methods = Collections.unmodifiableMap(methods);
+			METHODS_CACHE.putIfAbsent(cls, methods);
 		}
 
-		return null;
+		return methods.get(methodName);
 	}
 
 	/**
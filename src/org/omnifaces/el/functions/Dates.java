@@ -14,18 +14,21 @@ package org.omnifaces.el.functions;
 
 import java.text.DateFormat;
 import java.text.DateFormatSymbols;
+import java.text.Format;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import org.omnifaces.util.Faces;
+import org.omnifaces.util.FormatPool;
+import org.omnifaces.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
 
 /**
  * Collection of EL functions for date and time.
@@ -36,10 +39,12 @@ public final class Dates {
 
 	// Constants ------------------------------------------------------------------------------------------------------
 
-	private static final Map<Locale, Map<String, Integer>> MONTHS_CACHE = new HashMap<Locale, Map<String, Integer>>(3);
-	private static final Map<Locale, Map<String, Integer>> SHORT_MONTHS_CACHE = new HashMap<Locale, Map<String, Integer>>(3);
-	private static final Map<Locale, Map<String, Integer>> DAYS_OF_WEEK_CACHE = new HashMap<Locale, Map<String, Integer>>(3);
-	private static final Map<Locale, Map<String, Integer>> SHORT_DAYS_OF_WEEK_CACHE = new HashMap<Locale, Map<String, Integer>>(3);
+	private static final int MAX_SYMBOLS_CACHE_SIZE = 100;
+	private static final int MAX_DATE_FORMATS = 500;
+	private static final FormatPool DATE_FORMAT_POOL = new FormatPool(MAX_DATE_FORMATS);
+	private static final ConcurrentMap<Locale, Symbols> SYMBOLS_CACHE = new ConcurrentLinkedHashMap.Builder<Locale, Symbols>()
+		.maximumWeightedCapacity(MAX_SYMBOLS_CACHE_SIZE)
+		.build();
 	private static final TimeZone TIMEZONE_DEFAULT = TimeZone.getDefault();
 	private static final TimeZone TIMEZONE_UTC = TimeZone.getTimeZone("UTC");
 
@@ -55,7 +60,8 @@ public final class Dates {
 	 * Format the given date in the given pattern with system default timezone. This is useful when you want to format
 	 * dates in for example the <code>title</code> attribute of an UI component, or the <code>itemLabel</code> attribute
 	 * of select item, or wherever you can't use the <code>&lt;f:convertDateTime&gt;</code> tag. The format locale will
-	 * be set to the one as obtained by {@link Faces#getLocale()}.
+	 * be set to the one as obtained by {@link Faces#getLocale()}. The compiled format is pooled per pattern, locale and
+	 * timezone.
 	 * @param date The date to be formatted in the given pattern.
 	 * @param pattern The pattern to format the given date in.
 	 * @return The date which is formatted in the given pattern.
@@ -95,9 +101,15 @@ public final class Dates {
 			throw new NullPointerException("pattern");
 		}
 
-		DateFormat formatter = new SimpleDateFormat(pattern, Faces.getLocale());
-		formatter.setTimeZone(timezone);
-		return formatter.format(date);
+		DateFormatKey key = new DateFormatKey(pattern, Faces.getLocale(), timezone);
+		DateFormat formatter = DATE_FORMAT_POOL.borrow(key);
+
+		try {
+			return formatter.format(date);
+		}
+		finally {
+			DATE_FORMAT_POOL.release(key, formatter);
+		}
 	}
 
 	// Manipulating ---------------------------------------------------------------------------------------------------
@@ -356,15 +368,7 @@ public final class Dates {
 	 * @see DateFormatSymbols#getMonths()
 	 */
 	public static Map<String, Integer> getMonths() {
-		Locale locale = Faces.getLocale();
-		Map<String, Integer> months = MONTHS_CACHE.get(locale);
-
-		if (months == null) {
-			months = mapMonths(DateFormatSymbols.getInstance(Faces.getLocale()).getMonths());
-			MONTHS_CACHE.put(locale, months);
-		}
-
-		return months;
+		return getSymbols(Faces.getLocale()).months;
 	}
 
 	/**
@@ -376,30 +380,7 @@ public final class Dates {
 	 * @see DateFormatSymbols#getShortMonths()
 	 */
 	public static Map<String, Integer> getShortMonths() {
-		Locale locale = Faces.getLocale();
-		Map<String, Integer> shortMonths = SHORT_MONTHS_CACHE.get(locale);
-
-		if (shortMonths == null) {
-			shortMonths = mapMonths(DateFormatSymbols.getInstance(Faces.getLocale()).getShortMonths());
-			SHORT_MONTHS_CACHE.put(locale, shortMonths);
-		}
-
-		return shortMonths;
-	}
-
-	/**
-	 * Helper method to map months.
-	 */
-	private static Map<String, Integer> mapMonths(String[] months) {
-		Map<String, Integer> mapping = new LinkedHashMap<String, Integer>();
-
-		for (String month : months) {
-			if (!month.isEmpty()) { // 13th month may or may not be empty, depending on default calendar.
-				mapping.put(month, mapping.size() + 1);
-			}
-		}
-
-		return mapping;
+		return getSymbols(Faces.getLocale()).shortMonths;
 	}
 
 	/**
@@ -411,15 +392,7 @@ public final class Dates {
 	 * @see DateFormatSymbols#getWeekdays()
 	 */
 	public static Map<String, Integer> getDaysOfWeek() {
-		Locale locale = Faces.getLocale();
-		Map<String, Integer> daysOfWeek = DAYS_OF_WEEK_CACHE.get(locale);
-
-		if (daysOfWeek == null) {
-			daysOfWeek = mapDaysOfWeek(DateFormatSymbols.getInstance(Faces.getLocale()).getWeekdays());
-			DAYS_OF_WEEK_CACHE.put(locale, daysOfWeek);
-		}
-
-		return daysOfWeek;
+		return getSymbols(Faces.getLocale()).daysOfWeek;
 	}
 
 	/**
@@ -431,30 +404,7 @@ public final class Dates {
 	 * @see DateFormatSymbols#getShortWeekdays()
 	 */
 	public static Map<String, Integer> getShortDaysOfWeek() {
-		Locale locale = Faces.getLocale();
-		Map<String, Integer> shortDaysOfWeek = SHORT_DAYS_OF_WEEK_CACHE.get(locale);
-
-		if (shortDaysOfWeek == null) {
-			shortDaysOfWeek = mapDaysOfWeek(DateFormatSymbols.getInstance(Faces.getLocale()).getShortWeekdays());
-			SHORT_DAYS_OF_WEEK_CACHE.put(locale, shortDaysOfWeek);
-		}
-
-		return shortDaysOfWeek;
-	}
-
-	/**
-	 * Helper method to map days of week.
-	 */
-	private static Map<String, Integer> mapDaysOfWeek(String[] weekdays) {
-		Map<String, Integer> mapping = new LinkedHashMap<String, Integer>();
-		mapping.put(weekdays[Calendar.MONDAY], 1);
-		mapping.put(weekdays[Calendar.TUESDAY], 2);
-		mapping.put(weekdays[Calendar.WEDNESDAY], 3);
-		mapping.put(weekdays[Calendar.THURSDAY], 4);
-		mapping.put(weekdays[Calendar.FRIDAY], 5);
-		mapping.put(weekdays[Calendar.SATURDAY], 6);
-		mapping.put(weekdays[Calendar.SUNDAY], 7);
-		return mapping;
+		return getSymbols(Faces.getLocale()).shortDaysOfWeek;
 	}
 
 	/**
@@ -465,7 +415,7 @@ public final class Dates {
 	 * @since 1.4
 	 */
 	public static String getMonth(Integer monthNumber) {
-		return getKey(getMonths(), monthNumber);
+		return getName(getSymbols(Faces.getLocale()).monthNames, monthNumber);
 	}
 
 	/**
@@ -476,7 +426,7 @@ public final class Dates {
 	 * @since 1.4
 	 */
 	public static String getShortMonth(Integer monthNumber) {
-		return getKey(getShortMonths(), monthNumber);
+		return getName(getSymbols(Faces.getLocale()).shortMonthNames, monthNumber);
 	}
 
 	/**
@@ -488,7 +438,7 @@ public final class Dates {
 	 * @since 1.4
 	 */
 	public static String getDayOfWeek(Integer dayOfWeekNumber) {
-		return getKey(getDaysOfWeek(), dayOfWeekNumber);
+		return getName(getSymbols(Faces.getLocale()).dayOfWeekNames, dayOfWeekNumber);
 	}
 
 	/**
@@ -500,24 +450,140 @@ public final class Dates {
 	 * @since 1.4
 	 */
 	public static String getShortDayOfWeek(Integer dayOfWeekNumber) {
-		return getKey(getShortDaysOfWeek(), dayOfWeekNumber);
+		return getName(getSymbols(Faces.getLocale()).shortDayOfWeekNames, dayOfWeekNumber);
 	}
 
+	// Initialization -------------------------------------------------------------------------------------------------
+
 	/**
-	 * Helper method to return the map key from the given map associated with given map value.
+	 * Load the month and day of week names of the given locales in the local cache. This is not an EL function, but
+	 * it's invoked during application's startup for the default and supported locales of the JSF application.
+	 * @param locales The locales to load the month and day of week names for.
+	 * @since 1.8
+	 * @see org.omnifaces.eventlistener.DateSymbolsInitializerEventListener
 	 */
-	private static <K, V> K getKey(Map<K, V> map, V value) {
-		if (value == null) {
-			return null; // None of the maps have a null value anyway.
+	public static void initSymbols(Iterable<Locale> locales) {
+		for (Locale locale : locales) {
+			getSymbols(locale);
 		}
+	}
+
+	// Helpers --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Helper method to return the symbols of the given locale from the local cache. If absent, they will be created.
+	 */
+	private static Symbols getSymbols(Locale locale) {
+		Symbols symbols = SYMBOLS_CACHE.get(locale);
+
+		if (symbols == null) {
+			symbols = new Symbols(DateFormatSymbols.getInstance(locale));
+			SYMBOLS_CACHE.putIfAbsent(locale, symbols);
+		}
+
+		return symbols;
+	}
 
-		for (Entry<K, V> entry : map.entrySet()) {
-			if (value.equals(entry.getValue())) {
-				return entry.getKey();
+	/**
+	 * Helper method to map months.
+	 */
+	private static Map<String, Integer> mapMonths(String[] months) {
+		Map<String, Integer> mapping = new LinkedHashMap<String, Integer>();
+
+		for (String month : months) {
+			if (!month.isEmpty()) { // 13th month may or may not be empty, depending on default calendar.
+				mapping.put(month, mapping.size() + 1);
 			}
 		}
 
-		return null;
+		return Collections.unmodifiableMap(mapping);
+	}
+
+	/**
+	 * Helper method to map days of week.
+	 */
+	private static Map<String, Integer> mapDaysOfWeek(String[] weekdays) {
+		Map<String, Integer> mapping = new LinkedHashMap<String, Integer>();
+		mapping.put(weekdays[Calendar.MONDAY], 1);
+		mapping.put(weekdays[Calendar.TUESDAY], 2);
+		mapping.put(weekdays[Calendar.WEDNESDAY], 3);
+		mapping.put(weekdays[Calendar.THURSDAY], 4);
+		mapping.put(weekdays[Calendar.FRIDAY], 5);
+		mapping.put(weekdays[Calendar.SATURDAY], 6);
+		mapping.put(weekdays[Calendar.SUNDAY], 7);
+		return Collections.unmodifiableMap(mapping);
+	}
+
+	/**
+	 * Helper method to return the names of the given mapping ordered by their number.
+	 */
+	private static String[] getNames(Map<String, Integer> mapping) {
+		return mapping.keySet().toArray(new String[mapping.size()]);
+	}
+
+	/**
+	 * Helper method to return the name associated with the given 1-based number from the given names.
+	 */
+	private static String getName(String[] names, Integer number) {
+		if (number == null || number < 1 || number > names.length) {
+			return null;
+		}
+
+		return names[number - 1];
+	}
+
+	// Nested classes -------------------------------------------------------------------------------------------------
+
+	/**
+	 * The month and day of week names of a single locale, by name as well as by number.
+	 */
+	private static final class Symbols {
+
+		private final Map<String, Integer> months;
+		private final Map<String, Integer> shortMonths;
+		private final Map<String, Integer> daysOfWeek;
+		private final Map<String, Integer> shortDaysOfWeek;
+		private final String[] monthNames;
+		private final String[] shortMonthNames;
+		private final String[] dayOfWeekNames;
+		private final String[] shortDayOfWeekNames;
+
+		public Symbols(DateFormatSymbols symbols) {
+			months = mapMonths(symbols.getMonths());
+			shortMonths = mapMonths(symbols.getShortMonths());
+			daysOfWeek = mapDaysOfWeek(symbols.getWeekdays());
+			shortDaysOfWeek = mapDaysOfWeek(symbols.getShortWeekdays());
+			monthNames = getNames(months);
+			shortMonthNames = getNames(shortMonths);
+			dayOfWeekNames = getNames(daysOfWeek);
+			shortDayOfWeekNames = getNames(shortDaysOfWeek);
+		}
+
+	}
+
+	/**
+	 * The key of a compiled date format in the {@link FormatPool}.
+	 */
+	private static final class DateFormatKey extends FormatPool.Key {
+
+		private final String pattern;
+		private final Locale locale;
+		private final TimeZone timezone;
+
+		public DateFormatKey(String pattern, Locale locale, TimeZone timezone) {
+			super(pattern, locale, timezone);
+			this.pattern = pattern;
+			this.locale = locale;
+			this.timezone = timezone;
+		}
+
+		@Override
+		protected Format create() {
+			DateFormat formatter = new SimpleDateFormat(pattern, locale);
+			formatter.setTimeZone(timezone);
+			return formatter;
+		}
+
 	}
 
 }
\ No newline at end of file
@@ -14,9 +14,12 @@ package org.omnifaces.el.functions;
 
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
+import java.text.Format;
 import java.text.NumberFormat;
+import java.util.Locale;
 
 import org.omnifaces.util.Faces;
+import org.omnifaces.util.FormatPool;
 
 /**
  * Collection of EL functions for numbers.
@@ -26,6 +29,11 @@ import org.omnifaces.util.Faces;
  */
 public final class Numbers {
 
+	// Constants ------------------------------------------------------------------------------------------------------
+
+	private static final int MAX_NUMBER_FORMATS = 500;
+	private static final FormatPool NUMBER_FORMAT_POOL = new FormatPool(MAX_NUMBER_FORMATS);
+
 	// Constructors ---------------------------------------------------------------------------------------------------
 
 	private Numbers() {
@@ -79,11 +87,7 @@ public final class Numbers {
 			throw new NullPointerException("currencySymbol");
 		}
 
-		DecimalFormat formatter = (DecimalFormat) NumberFormat.getCurrencyInstance(Faces.getLocale());
-		DecimalFormatSymbols symbols = formatter.getDecimalFormatSymbols();
-		symbols.setCurrencySymbol(currencySymbol);
-		formatter.setDecimalFormatSymbols(symbols);
-		return formatter.format(number);
+		return format(number, new NumberFormatKey(NumberFormatType.CURRENCY, currencySymbol, Faces.getLocale()));
 	}
 
 	/**
@@ -105,9 +109,7 @@ public final class Numbers {
 			throw new NullPointerException("pattern");
 		}
 
-		DecimalFormat formatter = (DecimalFormat) NumberFormat.getNumberInstance(Faces.getLocale());
-		formatter.applyPattern(pattern);
-		return formatter.format(number);
+		return format(number, new NumberFormatKey(NumberFormatType.PATTERN, pattern, Faces.getLocale()));
 	}
 
 	/**
@@ -124,7 +126,7 @@ public final class Numbers {
 			return null;
 		}
 
-		return NumberFormat.getNumberInstance(Faces.getLocale()).format(number);
+		return format(number, new NumberFormatKey(NumberFormatType.DEFAULT, null, Faces.getLocale()));
 	}
 
 	/**
@@ -141,7 +143,71 @@ public final class Numbers {
 			return null;
 		}
 
-		return NumberFormat.getPercentInstance(Faces.getLocale()).format(number);
+		return format(number, new NumberFormatKey(NumberFormatType.PERCENT, null, Faces.getLocale()));
+	}
+
+	// Helpers --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Helper method to format the given number with a compiled number format from the {@link FormatPool}.
+	 */
+	private static String format(Number number, NumberFormatKey key) {
+		NumberFormat formatter = NUMBER_FORMAT_POOL.borrow(key);
+
+		try {
+			return formatter.format(number);
+		}
+		finally {
+			NUMBER_FORMAT_POOL.release(key, formatter);
+		}
+	}
+
+	// Nested classes -------------------------------------------------------------------------------------------------
+
+	/**
+	 * The supported types of number formats.
+	 */
+	private enum NumberFormatType {
+		DEFAULT, PATTERN, CURRENCY, PERCENT;
+	}
+
+	/**
+	 * The key of a compiled number format in the {@link FormatPool}. The argument is the pattern in case of
+	 * {@link NumberFormatType#PATTERN} and the currency symbol in case of {@link NumberFormatType#CURRENCY}.
+	 */
+	private static final class NumberFormatKey extends FormatPool.Key {
+
+		private final NumberFormatType type;
+		private final String argument;
+		private final Locale locale;
+
+		public NumberFormatKey(NumberFormatType type, String argument, Locale locale) {
+			super(type, argument, locale);
+			this.type = type;
+			this.argument = argument;
+			this.locale = locale;
+		}
+
+		@Override
+		protected Format create() {
+			switch (type) {
+				case PATTERN:
+					DecimalFormat formatter = (DecimalFormat) NumberFormat.getNumberInstance(locale);
+					formatter.applyPattern(argument);
+					return formatter;
+				case CURRENCY:
+					DecimalFormat currencyFormatter = (DecimalFormat) NumberFormat.getCurrencyInstance(locale);
+					DecimalFormatSymbols symbols = currencyFormatter.getDecimalFormatSymbols();
+					symbols.setCurrencySymbol(argument);
+					currencyFormatter.setDecimalFormatSymbols(symbols);
+					return currencyFormatter;
+				case PERCENT:
+					return NumberFormat.getPercentInstance(locale);
+				default:
+					return NumberFormat.getNumberInstance(locale);
+			}
+		}
+
 	}
 
 }
\ No newline at end of file
@@ -17,9 +17,12 @@ import java.net.URLEncoder;
 import java.text.MessageFormat;
 import java.text.Normalizer;
 import java.text.Normalizer.Form;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
 
 import org.omnifaces.util.Faces;
 import org.omnifaces.util.Utils;
+import org.omnifaces.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
 
 /**
  * Collection of EL functions for string manipulation.
@@ -30,6 +33,13 @@ public final class Strings {
 
 	// Constants ------------------------------------------------------------------------------------------------------
 
+	private static final int MAX_PATTERN_CACHE_SIZE = 1000;
+	private static final ConcurrentMap<String, Pattern> PATTERN_CACHE = new ConcurrentLinkedHashMap.Builder<String, Pattern>()
+		.maximumWeightedCapacity(MAX_PATTERN_CACHE_SIZE)
+		.build();
+	private static final Pattern PATTERN_DIACRITICAL_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+	private static final Pattern PATTERN_NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+
 	private static final String ERROR_UNSUPPORTED_ENCODING = "UTF-8 is apparently not supported on this machine.";
 
 	// Constructors ---------------------------------------------------------------------------------------------------
@@ -113,7 +123,7 @@ public final class Strings {
 			return null;
 		}
 
-		return value.replaceAll(pattern, replacement);
+		return getPattern(pattern).matcher(value).replaceAll(replacement);
 	}
 
 	/**
@@ -125,7 +135,7 @@ public final class Strings {
 	 * @since 1.5
 	 */
 	public static boolean matches(String value, String pattern) {
-		return value != null && value.matches(pattern);
+		return value != null && getPattern(pattern).matcher(value).matches();
 	}
 
 	/**
@@ -145,9 +155,9 @@ public final class Strings {
 			return null;
 		}
 
-		return Normalizer.normalize(string.toLowerCase(), Form.NFD)
-			.replaceAll("\\p{InCombiningDiacriticalMarks}+", "")
-			.replaceAll("[^\\p{Alnum}]+", "-");
+		String normalized = Normalizer.normalize(string.toLowerCase(), Form.NFD);
+		String withoutDiacriticalMarks = PATTERN_DIACRITICAL_MARKS.matcher(normalized).replaceAll("");
+		return PATTERN_NON_ALPHANUMERIC.matcher(withoutDiacriticalMarks).replaceAll("-");
 	}
 
 	/**
@@ -228,9 +238,22 @@ public final class Strings {
 	 * The main string format method taking varargs.
 	 */
 	private static String format(String pattern, Object... params) {
-		StringBuffer result = new StringBuffer();
-		new MessageFormat(pattern, Faces.getLocale()).format(params, result, null);
-		return result.toString();
+		return Utils.formatMessage(pattern, Faces.getLocale(), params);
+	}
+
+	/**
+	 * Returns the compiled pattern of the given regular expression from the local cache. If absent, it will be
+	 * compiled. The compiled pattern is thread safe and can therefore be shared.
+	 */
+	private static Pattern getPattern(String regex) {
+		Pattern pattern = PATTERN_CACHE.get(regex);
+
+		if (pattern == null) {
+			pattern = Pattern.compile(regex);
+			PATTERN_CACHE.putIfAbsent(regex, pattern);
+		}
+
+		return pattern;
 	}
 
-}
\ No newline at end of file
+}
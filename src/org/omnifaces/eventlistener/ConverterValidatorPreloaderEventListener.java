@@ -0,0 +1,103 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.eventlistener;
+
+import javax.faces.application.Application;
+import javax.faces.application.ApplicationWrapper;
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.SystemEvent;
+
+import org.omnifaces.application.OmniApplication;
+import org.omnifaces.cdi.converter.ConverterManager;
+import org.omnifaces.cdi.validator.ValidatorManager;
+import org.omnifaces.config.BeanManager;
+import org.omnifaces.util.Faces;
+
+/**
+ * This event listener resolves the CDI managed beans of all converters and validators which are registered in the JSF
+ * application in the caches of {@link ConverterManager} and {@link ValidatorManager} when JSF has started up, so that
+ * the first requests after deploy do not need to pay the price of instantiating and resolving them. This is disabled
+ * by default and can be enabled by the {@value #PARAM_NAME_PRELOAD_CDI_CONVERTERS_AND_VALIDATORS} context parameter:
+ * <pre>
+ * &lt;context-param&gt;
+ *     &lt;param-name&gt;org.omnifaces.PRELOAD_CDI_CONVERTERS_AND_VALIDATORS&lt;/param-name&gt;
+ *     &lt;param-value&gt;true&lt;/param-value&gt;
+ * &lt;/context-param&gt;
+ * </pre>
+ * <p>
+ * Note that this does not collect the converters and validators in a CDI extension, because such an extension is
+ * EAR-wide, see also <a href="https://code.google.com/p/omnifaces/issues/detail?id=251">issue 251</a>. Instead, it
+ * asks the JSF application of the current WAR for its converters and validators, exactly like the lazy resolution on
+ * first use does, so that converters and validators which are overridden in <code>faces-config.xml</code> are taken
+ * into account.
+ *
+ * @since 1.8
+ * @see ConverterManager#preload(Application)
+ * @see ValidatorManager#preload(Application)
+ */
+public class ConverterValidatorPreloaderEventListener extends DefaultSystemEventListener {
+
+	// Constants ------------------------------------------------------------------------------------------------------
+
+	/** The context parameter name to enable preloading of CDI managed converters and validators. */
+	public static final String PARAM_NAME_PRELOAD_CDI_CONVERTERS_AND_VALIDATORS =
+		"org.omnifaces.PRELOAD_CDI_CONVERTERS_AND_VALIDATORS";
+
+	// Actions --------------------------------------------------------------------------------------------------------
+
+	@Override
+	public void processEvent(SystemEvent event) throws AbortProcessingException {
+		if (!Boolean.parseBoolean(Faces.getInitParameter(PARAM_NAME_PRELOAD_CDI_CONVERTERS_AND_VALIDATORS))) {
+			return;
+		}
+
+		Application application = getApplicationWrappedByOmniApplication((Application) event.getSource());
+
+		if (application == null) {
+			return; // OmniApplication is not installed, so the managers are not used anyway.
+		}
+
+		Object converterManager = BeanManager.INSTANCE.getReference(ConverterManager.class);
+
+		if (converterManager instanceof ConverterManager) { // It's null when CDI is not available.
+			((ConverterManager) converterManager).preload(application);
+		}
+
+		Object validatorManager = BeanManager.INSTANCE.getReference(ValidatorManager.class);
+
+		if (validatorManager instanceof ValidatorManager) {
+			((ValidatorManager) validatorManager).preload(application);
+		}
+	}
+
+	// Helpers --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the application which is wrapped by {@link OmniApplication}, because that's the one which the managers
+	 * obtain the converters and validators from. Returns <code>null</code> if there is no {@link OmniApplication}.
+	 */
+	private static Application getApplicationWrappedByOmniApplication(Application application) {
+		Application current = application;
+
+		while (current instanceof ApplicationWrapper) {
+			if (current instanceof OmniApplication) {
+				return ((OmniApplication) current).getWrapped();
+			}
+
+			current = ((ApplicationWrapper) current).getWrapped();
+		}
+
+		return null;
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.eventlistener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+import javax.faces.application.Application;
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.SystemEvent;
+
+import org.omnifaces.el.functions.Dates;
+
+/**
+ * This event listener loads the month and day of week names of the default and supported locales of the JSF
+ * application in the cache of the {@link Dates} EL functions when JSF has started up, so that the first requests do
+ * not need to pay the price of loading them.
+ *
+ * @since 1.8
+ */
+public class DateSymbolsInitializerEventListener extends DefaultSystemEventListener {
+
+	@Override
+	public void processEvent(SystemEvent event) throws AbortProcessingException {
+		Application application = (Application) event.getSource();
+		List<Locale> locales = new ArrayList<Locale>();
+
+		if (application.getDefaultLocale() != null) {
+			locales.add(application.getDefaultLocale());
+		}
+
+		for (Iterator<Locale> iter = application.getSupportedLocales(); iter.hasNext();) {
+			locales.add(iter.next());
+		}
+
+		Dates.initSymbols(locales);
+	}
+
+}
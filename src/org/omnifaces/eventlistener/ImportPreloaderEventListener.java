@@ -0,0 +1,48 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.eventlistener;
+
+import static org.omnifaces.util.Utils.csvToList;
+
+import javax.faces.event.AbortProcessingException;
+import javax.faces.event.SystemEvent;
+
+import org.omnifaces.taghandler.ImportConstants;
+import org.omnifaces.taghandler.ImportFunctions;
+import org.omnifaces.util.Faces;
+
+/**
+ * This event listener collects the constants and functions of the types specified in respectively the
+ * {@value org.omnifaces.taghandler.ImportConstants#PARAM_NAME_PRELOAD_TYPES} and
+ * {@value org.omnifaces.taghandler.ImportFunctions#PARAM_NAME_PRELOAD_TYPES} context parameters in the caches of
+ * <code>&lt;o:importConstants&gt;</code> and <code>&lt;o:importFunctions&gt;</code> when JSF has started up, so that
+ * the first view build which imports them does not need to pay the price of collecting them.
+ *
+ * @since 1.8
+ * @see ImportConstants
+ * @see ImportFunctions
+ */
+public class ImportPreloaderEventListener extends DefaultSystemEventListener {
+
+	@Override
+	public void processEvent(SystemEvent event) throws AbortProcessingException {
+		for (String type : csvToList(Faces.getInitParameter(ImportConstants.PARAM_NAME_PRELOAD_TYPES))) {
+			ImportConstants.getConstants(type);
+		}
+
+		for (String type : csvToList(Faces.getInitParameter(ImportFunctions.PARAM_NAME_PRELOAD_TYPES))) {
+			ImportFunctions.getFunctions(type);
+		}
+	}
+
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.filter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.omnifaces.servlet.CountingHttpServletResponse;
+
+/**
+ * This filter collects the response size in bytes, the time to first byte and the total time of the filter chain, and
+ * aggregates them per view ID or URL pattern in {@link ResponseStatistics}, which is exposed over JMX under the object
+ * name <code>org.omnifaces:type=ResponseStatistics,context=/contextpath</code>. This is useful to find the heaviest
+ * pages and to tune the threshold of the {@link GzipResponseFilter} based on real data.
+ * <p>
+ * To get it to run, map this filter on the <code>&lt;servlet-name&gt;</code> of the <code>FacesServlet</code>, before
+ * any {@link GzipResponseFilter}, so that it measures the bytes as they are written to the client.
+ * <pre>
+ * &lt;filter&gt;
+ *   &lt;filter-name&gt;responseInstrumentationFilter&lt;/filter-name&gt;
+ *   &lt;filter-class&gt;org.omnifaces.filter.ResponseInstrumentationFilter&lt;/filter-class&gt;
+ * &lt;/filter&gt;
+ * &lt;filter-mapping&gt;
+ *   &lt;filter-name&gt;responseInstrumentationFilter&lt;/filter-name&gt;
+ *   &lt;servlet-name&gt;facesServlet&lt;/servlet-name&gt;
+ * &lt;/filter-mapping&gt;
+ * </pre>
+ * <p>
+ * In order to also measure the bytes produced by the application before compression, and thus the compression ratio,
+ * declare this filter a second time under a different filter name and map it <strong>after</strong> the
+ * {@link GzipResponseFilter}. The second instance detects that the first one has already wrapped the request and
+ * only counts the uncompressed bytes on its behalf. When mapped only once, the compression ratio is always 1.
+ * <p>
+ * This filter supports two initialization parameters which needs to be placed in <code>&lt;filter&gt;</code> element
+ * of the first instance as follows:
+ * <pre>
+ * &lt;init-param&gt;
+ *   &lt;description&gt;
+ *     Commaseparated regular expressions of request paths to aggregate on. The first matching expression is used
+ *     as key. Request paths not matching any of them are aggregated on the request path itself, which is the view
+ *     ID when mapped on the FacesServlet.
+ *   &lt;/description&gt;
+ *   &lt;param-name&gt;patterns&lt;/param-name&gt;
+ *   &lt;param-value&gt;/product/.*, /admin/.*&lt;/param-value&gt;
+ * &lt;/init-param&gt;
+ * &lt;init-param&gt;
+ *   &lt;description&gt;
+ *     The maximum amount of keys to collect statistics for. Defaults to 1000.
+ *   &lt;/description&gt;
+ *   &lt;param-name&gt;maxKeys&lt;/param-name&gt;
+ *   &lt;param-value&gt;1000&lt;/param-value&gt;
+ * &lt;/init-param&gt;
+ * </pre>
+ *
+ * @since 1.8
+ * @see ResponseStatistics
+ * @see CountingHttpServletResponse
+ */
+public class ResponseInstrumentationFilter extends HttpFilter {
+
+	// Constants ------------------------------------------------------------------------------------------------------
+
+	private static final String INIT_PARAM_PATTERNS = "patterns";
+	private static final String INIT_PARAM_MAX_KEYS = "maxKeys";
+
+	private static final int DEFAULT_MAX_KEYS = 1000;
+	private static final String OBJECT_NAME = "org.omnifaces:type=ResponseStatistics,context=%s";
+	private static final String ATTRIBUTE_STATISTICS = ResponseStatistics.class.getName();
+	private static final String ATTRIBUTE_RESPONSE = ResponseInstrumentationFilter.class.getName();
+
+	private static final String ERROR_MAX_KEYS = "The 'maxKeys' init param must be a positive number."
+		+ " Encountered an invalid value of '%s'.";
+	private static final String ERROR_JMX = "Cannot register response statistics in JMX.";
+
+	// Vars -----------------------------------------------------------------------------------------------------------
+
+	private List<Pattern> patterns = new ArrayList<Pattern>();
+	private ResponseStatistics statistics;
+	private ObjectName objectName;
+
+	// Actions --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Initializes the filter parameters and registers the response statistics in JMX, if not already done by another
+	 * instance of this filter.
+	 */
+	@Override
+	public void init() throws ServletException {
+		String patterns = getInitParameter(INIT_PARAM_PATTERNS);
+
+		if (patterns != null) {
+			for (String pattern : patterns.trim().split("\\s*,\\s*")) {
+				this.patterns.add(Pattern.compile(pattern));
+			}
+		}
+
+		int maxKeys = DEFAULT_MAX_KEYS;
+		String maxKeysParam = getInitParameter(INIT_PARAM_MAX_KEYS);
+
+		if (maxKeysParam != null) {
+			if (!maxKeysParam.matches("[1-9][0-9]{0,8}")) {
+				throw new ServletException(String.format(ERROR_MAX_KEYS, maxKeysParam));
+			}
+
+			maxKeys = Integer.valueOf(maxKeysParam);
+		}
+
+		ServletContext servletContext = getServletContext();
+
+		synchronized (ResponseInstrumentationFilter.class) {
+			statistics = (ResponseStatistics) servletContext.getAttribute(ATTRIBUTE_STATISTICS);
+
+			if (statistics == null) {
+				statistics = new ResponseStatistics(maxKeys);
+
+				try {
+					objectName = new ObjectName(String.format(OBJECT_NAME,
+						ObjectName.quote(servletContext.getContextPath())));
+					ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, objectName);
+				}
+				catch (JMException e) {
+					throw new ServletException(ERROR_JMX, e);
+				}
+
+				servletContext.setAttribute(ATTRIBUTE_STATISTICS, statistics);
+			}
+		}
+	}
+
+	/**
+	 * Perform the filtering job. If this is the first instance of this filter in the chain, then wrap the response in a
+	 * {@link CountingHttpServletResponse}, pass it through the filter chain and record the statistics. If the request
+	 * is put in asynchronous mode, then the statistics are recorded when the asynchronous processing completes. Else,
+	 * if this is the second instance, then only count the bytes produced by the application on behalf of the first
+	 * instance.
+	 */
+	@Override
+	public void doFilter
+		(HttpServletRequest request, HttpServletResponse response, HttpSession session, FilterChain chain)
+			throws ServletException, IOException
+	{
+		CountingHttpServletResponse outerResponse =
+			(CountingHttpServletResponse) request.getAttribute(ATTRIBUTE_RESPONSE);
+
+		if (outerResponse != null) {
+			CountingHttpServletResponse innerResponse = new CountingHttpServletResponse(response);
+			outerResponse.setProducer(innerResponse);
+			chain.doFilter(request, innerResponse);
+
+			if (!request.isAsyncStarted()) {
+				innerResponse.close();
+			}
+
+			return;
+		}
+
+		CountingHttpServletResponse countingResponse = new CountingHttpServletResponse(response);
+		Recorder recorder = new Recorder(getKey(request), countingResponse);
+		request.setAttribute(ATTRIBUTE_RESPONSE, countingResponse);
+		chain.doFilter(new RecordingHttpServletRequest(request, recorder), countingResponse);
+
+		if (!request.isAsyncStarted()) {
+			countingResponse.close();
+			recorder.record();
+		}
+		else if (!recorder.isListening()) {
+			// Asynchronous mode was started on another request object, which is our last chance to listen on it.
+			recorder.listen(request.getAsyncContext());
+		}
+	}
+
+	/**
+	 * Unregisters the response statistics from JMX, if registered by this instance of this filter.
+	 */
+	@Override
+	public void destroy() {
+		if (objectName != null) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+			}
+			catch (JMException ignore) {
+				// Already unregistered.
+			}
+
+			getServletContext().removeAttribute(ATTRIBUTE_STATISTICS);
+			objectName = null;
+		}
+
+		super.destroy();
+	}
+
+	// Getters --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the response statistics collected by this filter.
+	 * @return The response statistics collected by this filter.
+	 */
+	public ResponseStatistics getStatistics() {
+		return statistics;
+	}
+
+	// Helpers --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the key to aggregate the statistics of the given request on. That's the first matching pattern, or else
+	 * the request path relative to the context path.
+	 */
+	private String getKey(HttpServletRequest request) {
+		String path = request.getServletPath() + ((request.getPathInfo() != null) ? request.getPathInfo() : "");
+
+		for (Pattern pattern : patterns) {
+			if (pattern.matcher(path).matches()) {
+				return pattern.pattern();
+			}
+		}
+
+		return path;
+	}
+
+	private void record(String key, CountingHttpServletResponse response) {
+		statistics.record(key, response.getProducedByteCount(), response.getByteCount(),
+			response.getTimeToFirstByte(), response.getElapsedTime());
+	}
+
+	// Nested classes -------------------------------------------------------------------------------------------------
+
+	/**
+	 * Records the statistics of a single response once, either directly when the filter chain has finished, or when
+	 * the asynchronous processing completes.
+	 */
+	private final class Recorder implements AsyncListener {
+
+		private final String key;
+		private final CountingHttpServletResponse response;
+		private final AtomicBoolean recorded = new AtomicBoolean();
+		private volatile boolean listening;
+
+		public Recorder(String key, CountingHttpServletResponse response) {
+			this.key = key;
+			this.response = response;
+		}
+
+		public AsyncContext listen(AsyncContext asyncContext) {
+			asyncContext.addListener(this);
+			listening = true;
+			return asyncContext;
+		}
+
+		public boolean isListening() {
+			return listening;
+		}
+
+		public void record() {
+			if (recorded.compareAndSet(false, true)) {
+				ResponseInstrumentationFilter.this.record(key, response);
+			}
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			record();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			// NOOP. The container will complete it.
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			// NOOP. The container will complete it.
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			event.getAsyncContext().addListener(this); // Asynchronous mode is restarted, so listen on the new cycle.
+		}
+
+	}
+
+	/**
+	 * Lets the given recorder listen on the asynchronous mode as soon as it's started, so that it cannot complete
+	 * before the listener is added.
+	 */
+	private static final class RecordingHttpServletRequest extends HttpServletRequestWrapper {
+
+		private final Recorder recorder;
+
+		public RecordingHttpServletRequest(HttpServletRequest request, Recorder recorder) {
+			super(request);
+			this.recorder = recorder;
+		}
+
+		@Override
+		public AsyncContext startAsync() {
+			return recorder.listen(super.startAsync());
+		}
+
+		@Override
+		public AsyncContext startAsync(ServletRequest request, ServletResponse response) {
+			return recorder.listen(super.startAsync(request, response));
+		}
+
+	}
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.filter;
+
+import java.beans.ConstructorProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free aggregation of response sizes and timings per key, as collected by {@link ResponseInstrumentationFilter}.
+ * Every key holds a set of histograms with power-of-two buckets, so that recording a sample is merely a handful of
+ * atomic increments and percentiles can be approximated afterwards. The amount of keys is bounded; samples of keys
+ * beyond the maximum are aggregated under {@link #OTHER_KEY}.
+ *
+ * @since 1.8
+ */
+public class ResponseStatistics implements ResponseStatisticsMXBean {
+
+	// Public constants -----------------------------------------------------------------------------------------------
+
+	/** The key under which samples are aggregated when the maximum amount of keys has been reached. */
+	public static final String OTHER_KEY = "(other)";
+
+	// Properties -----------------------------------------------------------------------------------------------------
+
+	private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<String, Statistics>();
+	private final int maxKeys;
+
+	// Constructors ---------------------------------------------------------------------------------------------------
+
+	/**
+	 * Construct new response statistics with the given maximum amount of keys.
+	 * @param maxKeys The maximum amount of keys.
+	 */
+	public ResponseStatistics(int maxKeys) {
+		this.maxKeys = maxKeys;
+	}
+
+	// Actions --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Record a sample for the given key.
+	 * @param key The key to aggregate the sample under, usually the view ID or the matching URL pattern.
+	 * @param bytesProduced The amount of bytes produced by the application, i.e. before compression.
+	 * @param bytesWritten The amount of bytes written to the client, i.e. after compression.
+	 * @param timeToFirstByte The nanoseconds elapsed until the first byte was written, or -1 if nothing was written.
+	 * @param totalTime The nanoseconds elapsed until the filter chain has completed.
+	 */
+	public void record(String key, long bytesProduced, long bytesWritten, long timeToFirstByte, long totalTime) {
+		Statistics entry = statistics.get(key);
+
+		if (entry == null) {
+			if (statistics.size() >= maxKeys) {
+				key = OTHER_KEY;
+			}
+
+			Statistics newEntry = new Statistics();
+			entry = statistics.putIfAbsent(key, newEntry);
+
+			if (entry == null) {
+				entry = newEntry;
+			}
+		}
+
+		entry.bytesProduced.record(bytesProduced);
+		entry.bytesWritten.record(bytesWritten);
+		entry.totalTime.record(TimeUnit.NANOSECONDS.toMicros(totalTime));
+
+		if (timeToFirstByte >= 0) {
+			entry.timeToFirstByte.record(TimeUnit.NANOSECONDS.toMicros(timeToFirstByte));
+		}
+	}
+
+	@Override
+	public List<Snapshot> getStatistics() {
+		List<Snapshot> snapshots = new ArrayList<Snapshot>(statistics.size());
+
+		for (Entry<String, Statistics> entry : new TreeMap<String, Statistics>(statistics).entrySet()) {
+			Statistics value = entry.getValue();
+			long produced = value.bytesProduced.getSum();
+			long written = value.bytesWritten.getSum();
+			snapshots.add(new Snapshot(entry.getKey(), value.totalTime.getCount(),
+				value.bytesWritten.getMean(), value.bytesWritten.getPercentile(0.5),
+				value.bytesWritten.getPercentile(0.99), value.bytesWritten.getMax(),
+				value.bytesProduced.getMean(), (produced == 0) ? 1.0 : ((double) written / produced),
+				value.timeToFirstByte.getMean() / 1000, value.timeToFirstByte.getPercentile(0.99) / 1000.0,
+				value.totalTime.getMean() / 1000, value.totalTime.getPercentile(0.5) / 1000.0,
+				value.totalTime.getPercentile(0.99) / 1000.0, value.totalTime.getMax() / 1000.0));
+		}
+
+		return snapshots;
+	}
+
+	@Override
+	public int getKeyCount() {
+		return statistics.size();
+	}
+
+	@Override
+	public void reset() {
+		statistics.clear();
+	}
+
+	// Nested classes -------------------------------------------------------------------------------------------------
+
+	/**
+	 * The histograms of a single key.
+	 */
+	private static final class Statistics {
+
+		private final Histogram bytesProduced = new Histogram();
+		private final Histogram bytesWritten = new Histogram();
+		private final Histogram timeToFirstByte = new Histogram();
+		private final Histogram totalTime = new Histogram();
+
+	}
+
+	/**
+	 * Lock-free histogram with power-of-two buckets. Bucket <code>n</code> holds the values between
+	 * <code>2<sup>n-1</sup></code> and <code>2<sup>n</sup>-1</code>, bucket 0 holds the value 0.
+	 */
+	private static final class Histogram {
+
+		private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong sum = new AtomicLong();
+		private final AtomicLong max = new AtomicLong();
+
+		public void record(long value) {
+			long positiveValue = Math.max(0, value);
+			buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(positiveValue));
+			count.incrementAndGet();
+			sum.addAndGet(positiveValue);
+
+			for (long currentMax = max.get(); positiveValue > currentMax; currentMax = max.get()) {
+				if (max.compareAndSet(currentMax, positiveValue)) {
+					break;
+				}
+			}
+		}
+
+		public long getCount() {
+			return count.get();
+		}
+
+		public long getSum() {
+			return sum.get();
+		}
+
+		public long getMax() {
+			return max.get();
+		}
+
+		public double getMean() {
+			long currentCount = count.get();
+			return (currentCount == 0) ? 0 : ((double) sum.get() / currentCount);
+		}
+
+		/**
+		 * Returns the upper bound of the bucket wherein the given percentile falls, capped by the maximum value.
+		 */
+		public long getPercentile(double percentile) {
+			long threshold = (long) Math.ceil(count.get() * percentile);
+			long cumulative = 0;
+
+			for (int i = 0; i < buckets.length(); i++) {
+				cumulative += buckets.get(i);
+
+				if (cumulative >= threshold && cumulative > 0) {
+					return Math.min(max.get(), getUpperBound(i));
+				}
+			}
+
+			return max.get();
+		}
+
+		private static long getUpperBound(int bucket) {
+			return (bucket == 0) ? 0 : (bucket >= Long.SIZE - 1) ? Long.MAX_VALUE : ((1L << bucket) - 1);
+		}
+
+	}
+
+	/**
+	 * Immutable snapshot of the statistics of a single key. Sizes are in bytes and times are in milliseconds.
+	 */
+	public static final class Snapshot {
+
+		private final String key;
+		private final long count;
+		private final double meanBytesWritten;
+		private final long medianBytesWritten;
+		private final long p99BytesWritten;
+		private final long maxBytesWritten;
+		private final double meanBytesProduced;
+		private final double compressionRatio;
+		private final double meanTimeToFirstByte;
+		private final double p99TimeToFirstByte;
+		private final double meanTotalTime;
+		private final double medianTotalTime;
+		private final double p99TotalTime;
+		private final double maxTotalTime;
+
+		/**
+		 * Construct a new snapshot. This is only public because JMX needs to be able to reconstruct it.
+		 */
+		@ConstructorProperties({ "key", "count", "meanBytesWritten", "medianBytesWritten", "p99BytesWritten",
+			"maxBytesWritten", "meanBytesProduced", "compressionRatio", "meanTimeToFirstByte", "p99TimeToFirstByte",
+			"meanTotalTime", "medianTotalTime", "p99TotalTime", "maxTotalTime" })
+		public Snapshot(String key, long count, double meanBytesWritten, long medianBytesWritten,
+			long p99BytesWritten, long maxBytesWritten, double meanBytesProduced, double compressionRatio,
+			double meanTimeToFirstByte, double p99TimeToFirstByte, double meanTotalTime, double medianTotalTime,
+			double p99TotalTime, double maxTotalTime)
+		{
+			this.key = key;
+			this.count = count;
+			this.meanBytesWritten = meanBytesWritten;
+			this.medianBytesWritten = medianBytesWritten;
+			this.p99BytesWritten = p99BytesWritten;
+			this.maxBytesWritten = maxBytesWritten;
+			this.meanBytesProduced = meanBytesProduced;
+			this.compressionRatio = compressionRatio;
+			this.meanTimeToFirstByte = meanTimeToFirstByte;
+			this.p99TimeToFirstByte = p99TimeToFirstByte;
+			this.meanTotalTime = meanTotalTime;
+			this.medianTotalTime = medianTotalTime;
+			this.p99TotalTime = p99TotalTime;
+			this.maxTotalTime = maxTotalTime;
+		}
+
+		/** @return The view ID or URL pattern. */
+		public String getKey() {
+			return key;
+		}
+
+		/** @return The amount of recorded responses. */
+		public long getCount() {
+			return count;
+		}
+
+		/** @return The mean amount of bytes written to the client. */
+		public double getMeanBytesWritten() {
+			return meanBytesWritten;
+		}
+
+		/** @return The approximate median amount of bytes written to the client. */
+		public long getMedianBytesWritten() {
+			return medianBytesWritten;
+		}
+
+		/** @return The approximate 99th percentile of the amount of bytes written to the client. */
+		public long getP99BytesWritten() {
+			return p99BytesWritten;
+		}
+
+		/** @return The maximum amount of bytes written to the client. */
+		public long getMaxBytesWritten() {
+			return maxBytesWritten;
+		}
+
+		/** @return The mean amount of bytes produced by the application, i.e. before compression. */
+		public double getMeanBytesProduced() {
+			return meanBytesProduced;
+		}
+
+		/** @return The ratio of total bytes written to total bytes produced; lower is better compressed. */
+		public double getCompressionRatio() {
+			return compressionRatio;
+		}
+
+		/** @return The mean time to first byte in milliseconds. */
+		public double getMeanTimeToFirstByte() {
+			return meanTimeToFirstByte;
+		}
+
+		/** @return The approximate 99th percentile of the time to first byte in milliseconds. */
+		public double getP99TimeToFirstByte() {
+			return p99TimeToFirstByte;
+		}
+
+		/** @return The mean total time of the filter chain in milliseconds. */
+		public double getMeanTotalTime() {
+			return meanTotalTime;
+		}
+
+		/** @return The approximate median total time of the filter chain in milliseconds. */
+		public double getMedianTotalTime() {
+			return medianTotalTime;
+		}
+
+		/** @return The approximate 99th percentile of the total time of the filter chain in milliseconds. */
+		public double getP99TotalTime() {
+			return p99TotalTime;
+		}
+
+		/** @return The maximum total time of the filter chain in milliseconds. */
+		public double getMaxTotalTime() {
+			return maxTotalTime;
+		}
+
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.filter;
+
+import java.util.List;
+
+import org.omnifaces.filter.ResponseStatistics.Snapshot;
+
+/**
+ * JMX management interface of {@link ResponseStatistics}.
+ *
+ * @since 1.8
+ */
+public interface ResponseStatisticsMXBean {
+
+	/**
+	 * Returns a snapshot of the statistics of every key, sorted by key.
+	 * @return A snapshot of the statistics of every key.
+	 */
+	List<Snapshot> getStatistics();
+
+	/**
+	 * Returns the amount of keys whose statistics are currently been collected.
+	 * @return The amount of keys whose statistics are currently been collected.
+	 */
+	int getKeyCount();
+
+	/**
+	 * Clears all collected statistics.
+	 */
+	void reset();
+
+}
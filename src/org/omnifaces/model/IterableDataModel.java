@@ -14,8 +14,13 @@ package org.omnifaces.model;
 
 import static org.omnifaces.util.Utils.iterableToList;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.faces.model.DataModel;
@@ -29,6 +34,22 @@ import javax.faces.model.ListDataModel;
  * This can be used to encapsulate nearly every collection type, including {@link Collection} derived types such as
  * {@link List} and {@link Set}. As such this specific DataModel can be used instead of more specific DataModels like
  * {@link ListDataModel} and JSF 2.2's CollectionDataModel.
+ * <p>
+ * By default, any <code>Iterable</code> other than a {@link List} is copied into a list up front, so that its rows
+ * can be accessed by index and its row count is known.
+ * <p>
+ * Since 1.8, a huge or streaming <code>Iterable</code> can instead be wrapped by
+ * {@link #IterableDataModel(Iterable, int, int)}. This does not copy it up front, but lazily materializes its rows in
+ * chunks of the given size, only when a row of the chunk is actually accessed. Only the given amount of most recently
+ * accessed chunks is remembered, so that the <code>Iterable</code> doesn't end up completely in memory when it's
+ * presented with <code>first</code>/<code>rows</code> pagination. When a row of a forgotten chunk is accessed again,
+ * the <code>Iterable</code> is iterated again from the start, so it must then support obtaining multiple iterators.
+ * Note that <code>UIData</code> accesses all rows from the start in every phase, so this happens when it presents more
+ * rows than fit in the remembered chunks. If the <code>Iterable</code> turns out to support only a single iteration,
+ * then an {@link IllegalStateException} is thrown. If a {@link Collection} is modified while its rows are being
+ * materialized, then its rows are materialized again from the start. The row count of a {@link Collection} is
+ * obtained from its size, but the row count of any other <code>Iterable</code> is unknown, and thus <code>-1</code>,
+ * until it has been iterated until the end. A {@link List} is always accessed directly by index.
  * 
  * @since 1.5
  * @author Arjan.Tijms
@@ -36,38 +57,93 @@ import javax.faces.model.ListDataModel;
  */
 public class IterableDataModel<E> extends DataModel<E> {
 
+	private static final String ERROR_INVALID_CHUNKS =
+		"Chunk size and maximum amount of chunks must be at least 1. Encountered %d and %d.";
+	private static final String ERROR_ONE_SHOT_ITERABLE =
+		"The Iterable of type %s can be iterated only once, while rows which do not fit in the remembered chunks"
+			+ " are accessed again. Wrap a Collection instead, or increase the chunk size or maximum amount of chunks.";
+
+	private final boolean chunked;
+	private final int chunkSize;
+	private final int maxChunks;
+
 	private int index = -1;
 	private Iterable<E> iterable;
 	private List<E> list;
+	private Map<Integer, List<E>> chunks;
+	private Iterator<E> iterator;
+	private int iteratedCount;
+	private int rowCount = -1;
 
 	public IterableDataModel(Iterable<E> iterable) {
+		chunked = false;
+		chunkSize = 0; // Not used.
+		maxChunks = 0; // Not used.
+		setWrappedData(iterable);
+	}
+
+	/**
+	 * Creates an IterableDataModel which does not copy a non-{@link List} <code>Iterable</code> up front, but lazily
+	 * materializes its rows in chunks of the given size and remembers at most the given amount of most recently
+	 * accessed chunks. See class documentation for the caveats.
+	 * 
+	 * @param iterable the iterable to be wrapped
+	 * @param chunkSize the amount of rows per chunk
+	 * @param maxChunks the maximum amount of chunks to remember
+	 * @since 1.8
+	 */
+	public IterableDataModel(Iterable<E> iterable, int chunkSize, int maxChunks) {
+		if (chunkSize < 1 || maxChunks < 1) {
+			throw new IllegalArgumentException(String.format(ERROR_INVALID_CHUNKS, chunkSize, maxChunks));
+		}
+		
+		chunked = true;
+		this.chunkSize = chunkSize;
+		this.maxChunks = maxChunks;
 		setWrappedData(iterable);
 	}
 
 	@Override
 	public boolean isRowAvailable() {
-		return list != null && index >= 0 && index < list.size();
+		if (index < 0) {
+			return false;
+		}
+		
+		if (list != null) {
+			return index < list.size();
+		}
+		
+		if (iterable == null) {
+			return false;
+		}
+		
+		List<E> chunk = getChunk(index / chunkSize);
+		return chunk != null && index % chunkSize < chunk.size();
 	}
 
 	@Override
 	public int getRowCount() {
-		if (list == null) {
-			return -1;
+		if (list != null) {
+			return list.size();
 		}
 		
-		return list.size();
+		return rowCount;
 	}
 
 	@Override
 	public E getRowData() {
-		if (list == null) {
+		if (iterable == null) {
 			return null;
 		}
 		if (!isRowAvailable()) {
 			throw new IllegalStateException();
 		}
 		
-		return list.get(index);
+		if (list != null) {
+			return list.get(index);
+		}
+		
+		return getChunk(index / chunkSize).get(index % chunkSize);
 	}
 
 	@Override
@@ -85,7 +161,7 @@ public class IterableDataModel<E> extends DataModel<E> {
 		int oldRowIndex = index;
 		index = rowIndex;
 		
-		if (list == null) {
+		if (iterable == null) {
 			return;
 		}
 		
@@ -100,16 +176,117 @@ public class IterableDataModel<E> extends DataModel<E> {
 	@SuppressWarnings("unchecked")
 	@Override
 	public void setWrappedData(Object data) {
+		list = null;
+		chunks = null;
+		iterator = null;
+		iteratedCount = 0;
+		rowCount = -1;
+		
 		if (data == null) {
-			iterable = list = null;
+			iterable = null;
 			setRowIndex(-1);
 		} else {
 			iterable = (Iterable<E>) data;
-			list = iterableToList(iterable);
+			
+			if (!chunked || iterable instanceof List) {
+				list = iterableToList(iterable);
+			} else {
+				chunks = new RecentChunks();
+				
+				if (iterable instanceof Collection) {
+					rowCount = ((Collection<E>) iterable).size();
+				}
+			}
+			
 			setRowIndex(0);
 		}
 	}
 	
+	/**
+	 * Returns the chunk with the given index, or null if the iterable doesn't have that many rows. If the chunk isn't
+	 * remembered, then the iterator is advanced until the chunk has been read. The rows between the current position of
+	 * the iterator and the chunk are remembered as well, as far as they fit. If the iterator is already beyond the chunk,
+	 * then it is obtained again from the iterable. If the collection is modified while the iterator was being held,
+	 * then all remembered chunks are forgotten and the iterator is obtained again from the collection.
+	 */
+	private List<E> getChunk(int chunkIndex) {
+		List<E> chunk = chunks.get(chunkIndex);
+		
+		if (chunk != null) {
+			return chunk;
+		}
+		
+		int firstRowIndex = chunkIndex * chunkSize;
+		
+		if (rowCount >= 0 && firstRowIndex >= rowCount) {
+			return null;
+		}
+		
+		if (iterator == null || iteratedCount > firstRowIndex) {
+			restartIterator();
+		}
+		
+		try {
+			return readChunk(chunkIndex);
+		}
+		catch (ConcurrentModificationException e) {
+			chunks.clear();
+			iterator = null;
+			rowCount = (iterable instanceof Collection) ? ((Collection<E>) iterable).size() : -1;
+			restartIterator();
+			return readChunk(chunkIndex);
+		}
+	}
+	
+	/**
+	 * Obtains the iterator again from the iterable. If the iterable evidently supports only a single iteration, because
+	 * it returns the same iterator, or because a non-{@link Collection} returns an empty iterator while it had rows
+	 * before, then an {@link IllegalStateException} is thrown instead of silently presenting no rows.
+	 */
+	private void restartIterator() {
+		Iterator<E> previousIterator = iterator;
+		iterator = iterable.iterator();
+		
+		if (previousIterator != null && (iterator == previousIterator
+			|| (!(iterable instanceof Collection) && iteratedCount > 0 && !iterator.hasNext())))
+		{
+			throw new IllegalStateException(String.format(ERROR_ONE_SHOT_ITERABLE, iterable.getClass().getName()));
+		}
+		
+		iteratedCount = 0;
+	}
+	
+	/**
+	 * Advances the iterator until the chunk with the given index has been read, and returns it, or null if the iterable
+	 * doesn't have that many rows.
+	 */
+	private List<E> readChunk(int chunkIndex) {
+		while (iterator.hasNext()) {
+			int currentChunkIndex = iteratedCount / chunkSize;
+			List<E> currentChunk = new ArrayList<E>(chunkSize);
+			
+			while (currentChunk.size() < chunkSize && iterator.hasNext()) {
+				currentChunk.add(iterator.next());
+				iteratedCount++;
+			}
+			
+			if (currentChunkIndex > chunkIndex - maxChunks) {
+				chunks.put(currentChunkIndex, currentChunk);
+			}
+			
+			if (currentChunkIndex == chunkIndex) {
+				if (!iterator.hasNext()) {
+					rowCount = iteratedCount;
+				}
+				
+				return currentChunk;
+			}
+		}
+		
+		rowCount = iteratedCount;
+		return null;
+	}
+	
 	private E getRowDataOrNull() {
 		if (isRowAvailable()) {
 			return getRowData();
@@ -132,4 +309,22 @@ public class IterableDataModel<E> extends DataModel<E> {
 		}
 	}
 	
+	/**
+	 * Map of chunks by chunk index which forgets the least recently accessed chunk when there are too many.
+	 */
+	private class RecentChunks extends LinkedHashMap<Integer, List<E>> {
+
+		private static final long serialVersionUID = 1L;
+
+		public RecentChunks() {
+			super(maxChunks + 1, 1.0f, true);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, List<E>> eldest) {
+			return size() > maxChunks;
+		}
+
+	}
+	
 }
\ No newline at end of file
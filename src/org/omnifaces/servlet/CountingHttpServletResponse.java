@@ -0,0 +1,148 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.servlet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * This HTTP servlet response wrapper counts the bytes written to the response body and remembers the moment the first
+ * byte has been written to the wrapped response.
+ *
+ * @since 1.8
+ * @see org.omnifaces.filter.ResponseInstrumentationFilter
+ */
+public class CountingHttpServletResponse extends HttpServletResponseOutputWrapper {
+
+	// Properties -----------------------------------------------------------------------------------------------------
+
+	private final long startTime;
+	private long firstByteTime;
+	private long byteCount;
+	private CountingHttpServletResponse producer;
+
+	// Constructors ---------------------------------------------------------------------------------------------------
+
+	/**
+	 * Construct a new counting HTTP servlet response which wraps the given response.
+	 * @param wrapped The wrapped response.
+	 */
+	public CountingHttpServletResponse(HttpServletResponse wrapped) {
+		super(wrapped);
+		startTime = System.nanoTime();
+	}
+
+	// Actions --------------------------------------------------------------------------------------------------------
+
+	@Override
+	protected OutputStream createOutputStream() {
+		return new CountingOutputStream();
+	}
+
+	// Getters/setters ------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the amount of bytes written to the wrapped response so far.
+	 * @return The amount of bytes written to the wrapped response so far.
+	 */
+	public long getByteCount() {
+		return byteCount;
+	}
+
+	/**
+	 * Returns the amount of bytes produced by the application. That's the byte count of the producer, if any, else the
+	 * byte count of this response.
+	 * @return The amount of bytes produced by the application.
+	 * @see #setProducer(CountingHttpServletResponse)
+	 */
+	public long getProducedByteCount() {
+		return (producer != null) ? producer.getByteCount() : byteCount;
+	}
+
+	/**
+	 * Sets the counting response which is nested further down in the filter chain, usually inside a compressing
+	 * response wrapper, so that the amount of bytes before compression can be obtained via this response.
+	 * @param producer The nested counting response.
+	 */
+	public void setProducer(CountingHttpServletResponse producer) {
+		this.producer = producer;
+	}
+
+	/**
+	 * Returns the nanoseconds elapsed between the construction of this response and the moment the first byte has been
+	 * written to the wrapped response, or -1 if nothing has been written yet.
+	 * @return The nanoseconds elapsed until the first byte has been written.
+	 */
+	public long getTimeToFirstByte() {
+		return (byteCount == 0) ? -1 : (firstByteTime - startTime);
+	}
+
+	/**
+	 * Returns the nanoseconds elapsed since the construction of this response.
+	 * @return The nanoseconds elapsed since the construction of this response.
+	 */
+	public long getElapsedTime() {
+		return System.nanoTime() - startTime;
+	}
+
+	// Inner classes --------------------------------------------------------------------------------------------------
+
+	/**
+	 * This output stream counts the bytes and lazily obtains the output stream of the wrapped response on first write.
+	 */
+	private class CountingOutputStream extends OutputStream {
+
+		private OutputStream output;
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) throws IOException {
+			if (length == 0) {
+				return;
+			}
+
+			if (output == null) {
+				output = getResponse().getOutputStream();
+			}
+
+			if (byteCount == 0) {
+				firstByteTime = System.nanoTime();
+			}
+
+			output.write(bytes, offset, length);
+			byteCount += length;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (output != null) {
+				output.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (output != null) {
+				output.close();
+			}
+		}
+
+	}
+
+}
@@ -16,9 +16,9 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.faces.component.UIComponent;
 import javax.faces.view.facelets.FaceletContext;
@@ -61,13 +61,33 @@ import org.omnifaces.util.MapWrapper;
  * <p>
  * The resolved constants are by reference stored in the cache to improve retrieving performance.
  *
+ * <h3>Configuration</h3>
+ * <p>
+ * In order to collect the constants of frequently used types already during webapp's startup instead of during the
+ * first view build which imports them, specify their fully qualified names commaseparated in the
+ * {@value org.omnifaces.taghandler.ImportConstants#PARAM_NAME_PRELOAD_TYPES} context parameter. For example:
+ * <pre>
+ * &lt;context-param&gt;
+ *   &lt;param-name&gt;org.omnifaces.IMPORT_CONSTANTS_PRELOAD_TYPES&lt;/param-name&gt;
+ *   &lt;param-value&gt;com.example.Foo, com.example.Bar, com.example.Baz&lt;/param-value&gt;
+ * &lt;/context-param&gt;
+ * </pre>
+ *
  * @author Bauke Scholtz
+ * @see org.omnifaces.eventlistener.ImportPreloaderEventListener
  */
 public class ImportConstants extends TagHandler {
 
 	// Constants ------------------------------------------------------------------------------------------------------
 
-	private static Map<String, Map<String, Object>> CONSTANTS_CACHE = new HashMap<String, Map<String, Object>>();
+	/**
+	 * The context parameter name to specify the types whose constants should be collected during startup.
+	 * @since 1.8
+	 */
+	public static final String PARAM_NAME_PRELOAD_TYPES = "org.omnifaces.IMPORT_CONSTANTS_PRELOAD_TYPES";
+
+	private static final Map<String, Map<String, Object>> CONSTANTS_CACHE =
+		new ConcurrentHashMap<String, Map<String, Object>>();
 
 	private static final String ERROR_INVALID_VAR = "The 'var' attribute may not be an EL expression.";
 	private static final String ERROR_MISSING_CLASS = "Cannot find type '%s' in classpath.";
@@ -112,6 +132,21 @@ public class ImportConstants extends TagHandler {
 	@Override
 	public void apply(FaceletContext context, UIComponent parent) throws IOException {
 		String type = this.type.getValue(context);
+		context.setAttribute(var != null ? var : type.substring(type.lastIndexOf('.') + 1), getConstants(type));
+	}
+
+	// Utility --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the constants of the class by its fully qualified name from the cache. If they haven't been collected yet
+	 * and are thus not present in the cache, then collect them and store in cache.
+	 * @param type The fully qualified name of the type to return constants for.
+	 * @return Constants of the given type as an unmodifiable map.
+	 * @throws IllegalArgumentException When the type is missing in the classpath or when a constant field cannot be
+	 * accessed.
+	 * @since 1.8
+	 */
+	public static Map<String, Object> getConstants(String type) {
 		Map<String, Object> constants = CONSTANTS_CACHE.get(type);
 
 		if (constants == null) {
@@ -119,7 +154,7 @@ public class ImportConstants extends TagHandler {
 			CONSTANTS_CACHE.put(type, constants);
 		}
 
-		context.setAttribute(var != null ? var : type.substring(type.lastIndexOf('.') + 1), constants);
+		return constants;
 	}
 
 	// Helpers --------------------------------------------------------------------------------------------------------
@@ -213,4 +248,4 @@ public class ImportConstants extends TagHandler {
 
 	}
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -15,11 +15,10 @@ package org.omnifaces.taghandler;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.el.FunctionMapper;
 import javax.faces.component.UIComponent;
@@ -56,14 +55,34 @@ import javax.faces.view.facelets.TagHandler;
  * <p>
  * The resolved functions are by reference stored in the cache to improve retrieving performance.
  *
+ * <h3>Configuration</h3>
+ * <p>
+ * In order to collect the functions of frequently used types already during webapp's startup instead of during the
+ * first view build which imports them, specify their fully qualified names commaseparated in the
+ * {@value org.omnifaces.taghandler.ImportFunctions#PARAM_NAME_PRELOAD_TYPES} context parameter. For example:
+ * <pre>
+ * &lt;context-param&gt;
+ *   &lt;param-name&gt;org.omnifaces.IMPORT_FUNCTIONS_PRELOAD_TYPES&lt;/param-name&gt;
+ *   &lt;param-value&gt;java.lang.Math, org.omnifaces.util.Faces&lt;/param-value&gt;
+ * &lt;/context-param&gt;
+ * </pre>
+ *
  * @author Bauke Scholtz
  * @since 1.4
+ * @see org.omnifaces.eventlistener.ImportPreloaderEventListener
  */
 public class ImportFunctions extends TagHandler {
 
 	// Constants ------------------------------------------------------------------------------------------------------
 
-	private static Map<String, Method> FUNCTIONS_CACHE = new HashMap<String, Method>();
+	/**
+	 * The context parameter name to specify the types whose functions should be collected during startup.
+	 * @since 1.8
+	 */
+	public static final String PARAM_NAME_PRELOAD_TYPES = "org.omnifaces.IMPORT_FUNCTIONS_PRELOAD_TYPES";
+
+	private static final Map<String, Map<String, Method>> FUNCTIONS_CACHE =
+		new ConcurrentHashMap<String, Map<String, Method>>();
 
 	private static final String ERROR_INVALID_VAR = "The 'var' attribute may not be an EL expression.";
 	private static final String ERROR_MISSING_CLASS = "Cannot find type '%s' in classpath.";
@@ -104,7 +123,7 @@ public class ImportFunctions extends TagHandler {
 	@Override
 	public void apply(FaceletContext context, UIComponent parent) throws IOException {
 		String type = this.type.getValue(context);
-		final Class<?> cls = toClass(type);
+		final Map<String, Method> functions = getFunctions(type);
 		final String var = (this.var != null) ? this.var : type.substring(type.lastIndexOf('.') + 1);
 		final FunctionMapper originalFunctionMapper = context.getFunctionMapper();
 		context.setFunctionMapper(new FunctionMapper() {
@@ -112,15 +131,7 @@ public class ImportFunctions extends TagHandler {
 			@Override
 			public Method resolveFunction(String prefix, String name) {
 				if (var.equals(prefix)) {
-					String key = cls + "." + name;
-					Method function = FUNCTIONS_CACHE.get(key);
-
-					if (function == null) {
-						function = findMethod(cls, name);
-						FUNCTIONS_CACHE.put(key, function);
-					}
-
-					return function;
+					return functions.get(name);
 				}
 				else {
 					return originalFunctionMapper.resolveFunction(prefix, name);
@@ -129,6 +140,29 @@ public class ImportFunctions extends TagHandler {
 		});
 	}
 
+	// Utility --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Returns the functions of the class by its fully qualified name from the cache, mapped by function name. If they
+	 * haven't been collected yet and are thus not present in the cache, then collect them and store in cache.
+	 * @param type The fully qualified name of the type to return functions for.
+	 * @return Functions of the given type as an unmodifiable map.
+	 * @throws IllegalArgumentException When the type is missing in the classpath.
+	 * @since 1.8
+	 */
+	public static Map<String, Method> getFunctions(String type) {
+		Map<String, Method> functions = FUNCTIONS_CACHE.get(type);
+
+		if (functions == null) {
+			functions = collectFunctions(toClass(type));
+			FUNCTIONS_CACHE.put(type, functions);
+		}
+
+		return functions;
+	}
+
+	// Helpers --------------------------------------------------------------------------------------------------------
+
 	/**
 	 * Convert the given type, which should represent a fully qualified name, to a concrete {@link Class} instance.
 	 * @param type The fully qualified name of the class.
@@ -145,27 +179,25 @@ public class ImportFunctions extends TagHandler {
 	}
 
 	/**
-	 * Collect all public static methods of the given name in the given class, sort them by the amount of parameters
-	 * and return the first one.
-	 * @param cls The class to find the method in.
-	 * @param name The method name.
-	 * @return The found method, or <code>null</code> if none is found.
+	 * Collect all public static methods in the given class in a single pass, mapped by method name. If there are
+	 * multiple methods with the same name, then the one with the least amount of parameters is kept.
+	 * @param cls The class to collect the methods of.
+	 * @return The collected methods, mapped by method name.
 	 */
-	private static Method findMethod(Class<?> cls, String name) {
-		Set<Method> methods = new TreeSet<Method>(new Comparator<Method>() {
-			@Override
-			public int compare(Method m1, Method m2) {
-				return Integer.valueOf(m1.getParameterTypes().length).compareTo(m2.getParameterTypes().length);
-			}
-		});
+	private static Map<String, Method> collectFunctions(Class<?> cls) {
+		Map<String, Method> functions = new HashMap<String, Method>();
 
 		for (Method method : cls.getDeclaredMethods()) {
-			if (method.getName().equals(name) && isPublicStaticNonVoid(method)) {
-				methods.add(method);
+			if (isPublicStaticNonVoid(method)) {
+				Method function = functions.get(method.getName());
+
+				if (function == null || method.getParameterTypes().length < function.getParameterTypes().length) {
+					functions.put(method.getName(), method);
+				}
 			}
 		}
 
-		return methods.isEmpty() ? null : methods.iterator().next();
+		return Collections.unmodifiableMap(functions);
 	}
 
 	/**
@@ -179,4 +211,4 @@ public class ImportFunctions extends TagHandler {
 		return Modifier.isPublic(modifiers) && Modifier.isStatic(modifiers) && method.getReturnType() != void.class;
 	}
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factory which creates daemon threads named after the given name with a sequence number as suffix, so that
+ * they don't block the JVM shutdown and are easily recognizable in thread dumps. This is used by the thread pools of
+ * OmniFaces. It's up to the owner of the thread pool to shut it down.
+ *
+ * @since 1.8
+ */
+public final class DaemonThreadFactory implements ThreadFactory {
+
+	// Properties -----------------------------------------------------------------------------------------------------
+
+	private final String name;
+	private final AtomicInteger counter = new AtomicInteger();
+
+	// Constructors ---------------------------------------------------------------------------------------------------
+
+	/**
+	 * Construct a new daemon thread factory.
+	 * @param name The name of the threads, which will be suffixed with a sequence number.
+	 */
+	public DaemonThreadFactory(String name) {
+		this.name = name;
+	}
+
+	// Actions --------------------------------------------------------------------------------------------------------
+
+	@Override
+	public Thread newThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	}
+
+}
@@ -45,6 +45,7 @@ import javax.faces.event.PhaseId;
 import javax.faces.view.ViewDeclarationLanguage;
 import javax.faces.view.ViewMetadata;
 import javax.faces.view.facelets.FaceletContext;
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -73,6 +74,22 @@ import org.omnifaces.component.ParamHolder;
  */
 public final class Faces {
 
+	// Public constants -----------------------------------------------------------------------------------------------
+
+	/**
+	 * The context parameter name to specify the amount of I/O threads used by
+	 * {@link #sendFileAsync(InputStream, String, boolean)}.
+	 * @since 1.8
+	 */
+	public static final String PARAM_NAME_SENDFILE_ASYNC_THREADS = "org.omnifaces.SENDFILE_ASYNC_THREADS";
+
+	/**
+	 * The context parameter name to specify the timeout in milliseconds of
+	 * {@link #sendFileAsync(InputStream, String, boolean)}.
+	 * @since 1.8
+	 */
+	public static final String PARAM_NAME_SENDFILE_ASYNC_TIMEOUT = "org.omnifaces.SENDFILE_ASYNC_TIMEOUT";
+
 	// Constructors ---------------------------------------------------------------------------------------------------
 
 	private Faces() {
@@ -1605,6 +1622,18 @@ public final class Faces {
 	 * Send the given file to the response. The content type will be determined based on file name. The content length
 	 * will be set to the length of the file. The {@link FacesContext#responseComplete()} will implicitly be called
 	 * after successful streaming.
+	 * <p>
+	 * The <code>ETag</code> and <code>Last-Modified</code> response headers will be set based on the file length and
+	 * last modified timestamp. Conditional GET requests by <code>If-None-Match</code> and
+	 * <code>If-Modified-Since</code> will be answered with a 304, and partial GET requests by <code>Range</code> and
+	 * <code>If-Range</code> will be answered with a 206, or a <code>multipart/byteranges</code> response when multiple
+	 * ranges are requested. This allows the client to resume and seek in large downloads.
+	 * <p>
+	 * The file is streamed by {@link java.nio.channels.FileChannel#transferTo(long, long,
+	 * java.nio.channels.WritableByteChannel)}. When the servletcontainer advertises sendfile support by the
+	 * <code>org.apache.tomcat.sendfile.support</code> request attribute, such as Tomcat with the NIO connector, then
+	 * the actual streaming is handed off to the servletcontainer, so that the request thread is not occupied by
+	 * copying bytes. Note that this does not apply to multipart byte ranges.
 	 * @param file The file to be sent to the response.
 	 * @param attachment Whether the file should be provided as attachment, or just inline.
 	 * @throws IOException Whenever something fails at I/O level. The caller should preferably not catch it, but just
@@ -1618,6 +1647,10 @@ public final class Faces {
 	 * Send the given byte array as a file to the response. The content type will be determined based on file name. The
 	 * content length will be set to the length of the byte array. The {@link FacesContext#responseComplete()} will
 	 * implicitly be called after successful streaming.
+	 * <p>
+	 * The <code>ETag</code> response header will be set based on the byte array content. Conditional GET requests by
+	 * <code>If-None-Match</code> and partial GET requests by <code>Range</code> and <code>If-Range</code> are
+	 * supported the same way as in {@link #sendFile(File, boolean)}.
 	 * @param content The file content as byte array.
 	 * @param filename The file name which should appear in content disposition header.
 	 * @param attachment Whether the file should be provided as attachment, or just inline.
@@ -1646,4 +1679,35 @@ public final class Faces {
 		FacesLocal.sendFile(getContext(), content, filename, attachment);
 	}
 
+	/**
+	 * Send the given input stream as a file to the response in a Servlet 3.0 asynchronous manner. This behaves the same
+	 * as {@link #sendFile(InputStream, String, boolean)}, except that the request thread is not blocked during
+	 * streaming. The response headers are set, the {@link AsyncContext} is started, the
+	 * {@link FacesContext#responseComplete()} is called and the actual streaming is performed by a small dedicated I/O
+	 * thread pool, so that slow clients don't occupy the servletcontainer's worker threads. The
+	 * {@link InputStream#close()} will implicitly be called after streaming, regardless of whether an exception is
+	 * been thrown or not.
+	 * <p>
+	 * This requires that the <code>FacesServlet</code> and all filters in its chain are declared with
+	 * <code>&lt;async-supported&gt;true&lt;/async-supported&gt;</code> and that those filters don't post-process the
+	 * response after the chain. If async is not supported on the current request, then this falls back to
+	 * {@link #sendFile(InputStream, String, boolean)}. If the I/O thread pool is saturated, then the streaming falls
+	 * back to the request thread. The amount of I/O threads defaults to 4 and can be configured by the
+	 * {@value #PARAM_NAME_SENDFILE_ASYNC_THREADS} context parameter.
+	 * <p>
+	 * The streaming must finish within the async timeout of the servletcontainer, which is usually 30 seconds. Large
+	 * files or slow clients may need more time. The timeout in milliseconds can be configured by the
+	 * {@value #PARAM_NAME_SENDFILE_ASYNC_TIMEOUT} context parameter. When the timeout expires, the streaming is
+	 * aborted and the response is completed.
+	 * @param content The file content as input stream.
+	 * @param filename The file name which should appear in content disposition header.
+	 * @param attachment Whether the file should be provided as attachment, or just inline.
+	 * @throws IOException Whenever something fails at I/O level before streaming is started. The caller should
+	 * preferably not catch it, but just redeclare it in the action method. The servletcontainer will handle it.
+	 * @since 1.8
+	 */
+	public static void sendFileAsync(InputStream content, String filename, boolean attachment) throws IOException {
+		FacesLocal.sendFileAsync(getContext(), content, filename, attachment);
+	}
+
 }
\ No newline at end of file
@@ -14,22 +14,36 @@ package org.omnifaces.util;
 
 import static javax.servlet.http.HttpServletResponse.SC_MOVED_PERMANENTLY;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.el.ELContext;
 import javax.el.ValueExpression;
@@ -45,6 +59,9 @@ import javax.faces.event.PhaseId;
 import javax.faces.view.ViewDeclarationLanguage;
 import javax.faces.view.ViewMetadata;
 import javax.faces.view.facelets.FaceletContext;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.Cookie;
@@ -79,7 +96,27 @@ public final class FacesLocal {
 
 	private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
 	private static final int DEFAULT_SENDFILE_BUFFER_SIZE = 10240;
+	private static final String MULTIPART_BOUNDARY = "OMNIFACES_MULTIPART_BOUNDARY";
+	private static final Pattern PATTERN_BYTE_RANGE = Pattern.compile("(\\d*)-(\\d*)");
+	private static final int MAX_RANGES = 16;
+	private static final String ATTRIBUTE_SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+	private static final String ATTRIBUTE_SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+	private static final String ATTRIBUTE_SENDFILE_START = "org.apache.tomcat.sendfile.start";
+	private static final String ATTRIBUTE_SENDFILE_END = "org.apache.tomcat.sendfile.end";
+	private static final String CLASS_NAME_TOMCAT_REQUEST_FACADE = "org.apache.catalina.connector.RequestFacade";
+	private static final String CLASS_NAME_TOMCAT_RESPONSE_FACADE = "org.apache.catalina.connector.ResponseFacade";
+	private static final int DEFAULT_SENDFILE_ASYNC_THREADS = 4;
+	private static final int SENDFILE_ASYNC_QUEUE_SIZE_PER_THREAD = 25;
+	private static final long SENDFILE_ASYNC_KEEP_ALIVE = 60; // seconds
+	private static final long SENDFILE_ASYNC_SHUTDOWN_TIMEOUT = 10; // seconds
 	private static final String ERROR_NO_VIEW = "There is no view.";
+	private static final String ERROR_SENDFILE_ASYNC = "Asynchronous file download has been aborted.";
+
+	private static final Logger logger = Logger.getLogger(FacesLocal.class.getName());
+
+	// Static variables -----------------------------------------------------------------------------------------------
+
+	private static volatile ExecutorService sendFileAsyncExecutor;
 
 	// Constructors ---------------------------------------------------------------------------------------------------
 
@@ -1103,7 +1140,7 @@ public final class FacesLocal {
 	 * @see Faces#sendFile(File, boolean)
 	 */
 	public static void sendFile(FacesContext context, File file, boolean attachment) throws IOException {
-		sendFile(context, new FileInputStream(file), file.getName(), file.length(), attachment);
+		sendFile(context, new FileContent(file), file.getName(), attachment);
 	}
 
 	/**
@@ -1112,7 +1149,7 @@ public final class FacesLocal {
 	public static void sendFile(FacesContext context, byte[] content, String filename, boolean attachment)
 		throws IOException
 	{
-		sendFile(context, new ByteArrayInputStream(content), filename, content.length, attachment);
+		sendFile(context, new ByteArrayContent(content), filename, attachment);
 	}
 
 	/**
@@ -1124,6 +1161,43 @@ public final class FacesLocal {
 		sendFile(context, content, filename, -1, attachment);
 	}
 
+	/**
+	 * @see Faces#sendFileAsync(InputStream, String, boolean)
+	 * @since 1.8
+	 */
+	public static void sendFileAsync
+		(FacesContext context, InputStream content, String filename, boolean attachment)
+			throws IOException
+	{
+		HttpServletRequest request = getRequest(context);
+
+		if (!request.isAsyncSupported()) {
+			sendFile(context, content, filename, attachment);
+			return;
+		}
+
+		prepareSendFile(context, filename, attachment);
+		ExecutorService executor = getSendFileAsyncExecutor(context);
+		AsyncContext asyncContext = request.startAsync(request, getResponse(context));
+		String timeout = getInitParameter(context, Faces.PARAM_NAME_SENDFILE_ASYNC_TIMEOUT);
+
+		if (Utils.isNumber(timeout)) {
+			asyncContext.setTimeout(Long.parseLong(timeout)); // Else the container's default async timeout applies.
+		}
+
+		SendFileAsyncTask task = new SendFileAsyncTask(asyncContext, content);
+		asyncContext.addListener(task);
+
+		try {
+			executor.execute(task);
+		}
+		catch (RejectedExecutionException e) {
+			task.run(); // The I/O pool is saturated, so fall back to streaming on the request thread.
+		}
+
+		context.responseComplete();
+	}
+
 	/**
 	 * Internal global method to send the given input stream to the response.
 	 * @param input The file content as input stream.
@@ -1138,32 +1212,572 @@ public final class FacesLocal {
 			throws IOException
 	{
 		ExternalContext externalContext = context.getExternalContext();
+		prepareSendFile(context, filename, attachment);
+
+		// If content length is known, set it. Note that setResponseContentLength() cannot be used as it takes only int.
+		if (contentLength != -1) {
+			externalContext.setResponseHeader("Content-Length", String.valueOf(contentLength));
+		}
+
+		long size = Utils.stream(input, externalContext.getResponseOutputStream());
+
+		// This may be on time for files smaller than the default buffer size, but is otherwise ignored anyway.
+		if (contentLength == -1) {
+			externalContext.setResponseHeader("Content-Length", String.valueOf(size));
+		}
+
+		context.responseComplete();
+	}
+
+	/**
+	 * Internal global method to send the given content with a known length to the response. This supports conditional
+	 * GET requests by <code>If-None-Match</code> and <code>If-Modified-Since</code> headers and partial GET requests by
+	 * <code>Range</code> and <code>If-Range</code> headers, including multipart byte ranges.
+	 * @param content The file content whose length, last modified timestamp and ETag are known beforehand.
+	 * @param filename The file name which should appear in content disposition header.
+	 * @param attachment Whether the file should be provided as attachment, or just inline.
+	 * @throws IOException Whenever something fails at I/O level. The caller should preferably not catch it, but just
+	 * redeclare it in the action method. The servletcontainer will handle it.
+	 */
+	private static void sendFile(FacesContext context, SendFileContent content, String filename, boolean attachment)
+		throws IOException
+	{
+		ExternalContext externalContext = context.getExternalContext();
+		HttpServletRequest request = getRequest(context);
+		long length = content.getLength();
+		long lastModified = content.getLastModified();
+		String eTag = content.getETag();
+
+		externalContext.setResponseHeader("Accept-Ranges", "bytes");
+		externalContext.setResponseHeader("ETag", eTag);
+
+		if (lastModified != -1) {
+			addResponseDateHeader(context, "Last-Modified", lastModified);
+		}
+
+		if (isNotModified(request, eTag, lastModified)) {
+			externalContext.setResponseStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			context.responseComplete();
+			return;
+		}
+
+		List<long[]> ranges = getRanges(request, eTag, lastModified, length);
+
+		if (ranges != null && ranges.isEmpty()) {
+			externalContext.setResponseHeader("Content-Range", "bytes */" + length);
+			externalContext.setResponseStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+			context.responseComplete();
+			return;
+		}
+
+		prepareSendFile(context, filename, attachment);
+
+		if (ranges == null || ranges.size() == 1) {
+			long start = 0;
+			long count = length;
+
+			if (ranges != null) {
+				long[] range = ranges.get(0);
+				start = range[0];
+				count = range[1] - range[0] + 1;
+				externalContext.setResponseStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+				externalContext.setResponseHeader("Content-Range", formatContentRange(range, length));
+			}
+
+			externalContext.setResponseHeader("Content-Length", String.valueOf(count));
+
+			if (!content.sendfile(request, getResponse(context), start, count)) {
+				content.write(externalContext.getResponseOutputStream(), start, count);
+			}
+		}
+		else {
+			OutputStream output = externalContext.getResponseOutputStream();
+			String contentType = getMimeType(context, filename);
+			externalContext.setResponseStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+			externalContext.setResponseContentType("multipart/byteranges; boundary=" + MULTIPART_BOUNDARY);
+
+			for (long[] range : ranges) {
+				output.write(String.format("\r\n--%s\r\nContent-Type: %s\r\nContent-Range: %s\r\n\r\n",
+					MULTIPART_BOUNDARY, contentType, formatContentRange(range, length)).getBytes("US-ASCII"));
+				content.write(output, range[0], range[1] - range[0] + 1);
+			}
 
-		// Prepare the response and set the necessary headers.
+			output.write(String.format("\r\n--%s--\r\n", MULTIPART_BOUNDARY).getBytes("US-ASCII"));
+		}
+
+		context.responseComplete();
+	}
+
+	/**
+	 * Returns the executor for {@link #sendFileAsync(FacesContext, InputStream, String, boolean)}. It's lazily created
+	 * once with a fixed amount of daemon threads as configured by {@link Faces#PARAM_NAME_SENDFILE_ASYNC_THREADS} and
+	 * a bounded task queue. Idle threads will time out, and the executor is shut down when the JSF application is
+	 * destroyed, see {@link #shutdownSendFileAsyncExecutor()}.
+	 */
+	private static ExecutorService getSendFileAsyncExecutor(FacesContext context) {
+		if (sendFileAsyncExecutor == null) {
+			synchronized (FacesLocal.class) {
+				if (sendFileAsyncExecutor == null) {
+					String param = getInitParameter(context, Faces.PARAM_NAME_SENDFILE_ASYNC_THREADS);
+					int threads = Utils.isNumber(param)
+						? Math.max(1, Integer.parseInt(param))
+						: DEFAULT_SENDFILE_ASYNC_THREADS;
+					ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, SENDFILE_ASYNC_KEEP_ALIVE,
+						TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(threads * SENDFILE_ASYNC_QUEUE_SIZE_PER_THREAD),
+						new DaemonThreadFactory("omnifaces-sendfile"));
+					executor.allowCoreThreadTimeOut(true);
+					sendFileAsyncExecutor = executor;
+				}
+			}
+		}
+
+		return sendFileAsyncExecutor;
+	}
+
+	/**
+	 * Orderly shut down the executor for {@link #sendFileAsync(FacesContext, InputStream, String, boolean)}, if it has
+	 * ever been created: no new downloads are accepted anymore, but the queued ones are still sent. This waits at most
+	 * {@value #SENDFILE_ASYNC_SHUTDOWN_TIMEOUT} seconds for them and then interrupts the remaining ones. Downloads which
+	 * are started afterwards are sent synchronously. This is invoked by {@link SendFileAsyncShutdownEventListener}.
+	 */
+	static void shutdownSendFileAsyncExecutor() {
+		ExecutorService executor = sendFileAsyncExecutor;
+
+		if (executor == null) {
+			return;
+		}
+
+		executor.shutdown();
+
+		try {
+			if (!executor.awaitTermination(SENDFILE_ASYNC_SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+				executor.shutdownNow();
+			}
+		}
+		catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Prepare the response for a file download and set the necessary headers.
+	 */
+	private static void prepareSendFile(FacesContext context, String filename, boolean attachment) {
+		ExternalContext externalContext = context.getExternalContext();
 		externalContext.setResponseBufferSize(DEFAULT_SENDFILE_BUFFER_SIZE);
 		externalContext.setResponseContentType(getMimeType(context, filename));
 		externalContext.setResponseHeader("Content-Disposition", String.format("%s;filename=\"%s\"",
 			(attachment ? "attachment" : "inline"), Utils.encodeURL(filename)));
 
 		// Not exactly mandatory, but this fixes at least a MSIE quirk: http://support.microsoft.com/kb/316431
-		if (((HttpServletRequest) externalContext.getRequest()).isSecure()) {
+		if (getRequest(context).isSecure()) {
 			externalContext.setResponseHeader("Cache-Control", "public");
 			externalContext.setResponseHeader("Pragma", "public");
 		}
+	}
 
-		// If content length is known, set it. Note that setResponseContentLength() cannot be used as it takes only int.
-		if (contentLength != -1) {
-			externalContext.setResponseHeader("Content-Length", String.valueOf(contentLength));
+	/**
+	 * Returns true if the client already has the content as identified by the given ETag and last modified timestamp,
+	 * based on the <code>If-None-Match</code> and <code>If-Modified-Since</code> request headers. As per RFC 7232,
+	 * the <code>If-Modified-Since</code> header is ignored when an <code>If-None-Match</code> header is present.
+	 */
+	static boolean isNotModified(HttpServletRequest request, String eTag, long lastModified) {
+		String ifNoneMatch = request.getHeader("If-None-Match");
+
+		if (ifNoneMatch != null) {
+			return matchesETag(ifNoneMatch, eTag);
 		}
 
-		long size = Utils.stream(input, externalContext.getResponseOutputStream());
+		if (lastModified != -1) {
+			long ifModifiedSince = getRequestDateHeader(request, "If-Modified-Since");
+			return ifModifiedSince != -1 && ifModifiedSince + 1000 > lastModified;
+		}
 
-		// This may be on time for files smaller than the default buffer size, but is otherwise ignored anyway.
-		if (contentLength == -1) {
-			externalContext.setResponseHeader("Content-Length", String.valueOf(size));
+		return false;
+	}
+
+	/**
+	 * Returns the byte ranges as requested by the <code>Range</code> header, each as a long array with inclusive
+	 * start and end index, sorted and with overlapping and adjacent ranges merged. Returns <code>null</code> when the
+	 * full content should be sent, i.e. when there's no <code>Range</code> header, or when its unit is not bytes, or
+	 * when the <code>If-Range</code> header indicates that the content has been changed in the meanwhile, or when the
+	 * ranges are suspicious as per RFC 7233 section 6.1: more than {@value #MAX_RANGES} ranges, or ranges which
+	 * together request more bytes than the content length, or ranges which together cover the whole content. Returns
+	 * an empty list when the range is not satisfiable.
+	 */
+	static List<long[]> getRanges(HttpServletRequest request, String eTag, long lastModified, long length) {
+		String range = request.getHeader("Range");
+
+		if (range == null || !range.startsWith("bytes=")) {
+			return null;
+		}
+
+		String ifRange = request.getHeader("If-Range");
+
+		if (ifRange != null) {
+			if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+				if (ifRange.startsWith("W/") || eTag.startsWith("W/") || !ifRange.equals(eTag)) {
+					return null; // If-Range requires a strong comparison, so a weak ETag never matches.
+				}
+			}
+			else {
+				long ifRangeTime = getRequestDateHeader(request, "If-Range");
+
+				if (ifRangeTime == -1 || lastModified == -1 || lastModified / 1000 != ifRangeTime / 1000) {
+					return null;
+				}
+			}
+		}
+
+		String[] parts = range.substring("bytes=".length()).split(",");
+
+		if (parts.length > MAX_RANGES) {
+			return null;
+		}
+
+		List<long[]> ranges = new ArrayList<long[]>();
+
+		for (String part : parts) {
+			Matcher matcher = PATTERN_BYTE_RANGE.matcher(part.trim());
+
+			if (!matcher.matches()) {
+				return Collections.emptyList();
+			}
+
+			String start = matcher.group(1);
+			String end = matcher.group(2);
+
+			if (start.isEmpty() && end.isEmpty()) {
+				return Collections.emptyList();
+			}
+
+			try {
+				long from;
+				long to;
+
+				if (start.isEmpty()) {
+					from = Math.max(0, length - Long.parseLong(end));
+					to = length - 1;
+				}
+				else {
+					from = Long.parseLong(start);
+					to = end.isEmpty() ? length - 1 : Long.parseLong(end);
+
+					if (to < from) {
+						return Collections.emptyList();
+					}
+
+					to = Math.min(to, length - 1);
+				}
+
+				if (from <= to) {
+					ranges.add(new long[] { from, to });
+				}
+			}
+			catch (NumberFormatException e) {
+				return Collections.emptyList();
+			}
+		}
+
+		return mergeRanges(ranges, length);
+	}
+
+	/**
+	 * Sort the given byte ranges and merge the overlapping and adjacent ones. Returns <code>null</code> when they
+	 * together request more bytes than the given content length, or when the merged range covers the whole content, so
+	 * that the full content is to be sent instead.
+	 */
+	private static List<long[]> mergeRanges(List<long[]> ranges, long length) {
+		if (ranges.size() < 2) {
+			return ranges;
+		}
+
+		long requested = 0;
+
+		for (long[] range : ranges) {
+			requested += range[1] - range[0] + 1;
+		}
+
+		if (requested > length) {
+			return null;
+		}
+
+		Collections.sort(ranges, new Comparator<long[]>() {
+			@Override
+			public int compare(long[] left, long[] right) {
+				return (left[0] < right[0]) ? -1 : (left[0] == right[0]) ? 0 : 1;
+			}
+		});
+
+		List<long[]> merged = new ArrayList<long[]>();
+		long[] previous = null;
+
+		for (long[] range : ranges) {
+			if (previous != null && range[0] <= previous[1] + 1) {
+				previous[1] = Math.max(previous[1], range[1]);
+			}
+			else {
+				merged.add(previous = range);
+			}
+		}
+
+		if (merged.size() == 1 && merged.get(0)[0] == 0 && merged.get(0)[1] == length - 1) {
+			return null;
+		}
+
+		return merged;
+	}
+
+	/**
+	 * Returns true if the given <code>If-None-Match</code> or <code>If-Match</code> header value matches the given
+	 * ETag. Weak comparison is used, so the <code>W/</code> prefix is ignored.
+	 */
+	static boolean matchesETag(String header, String eTag) {
+		String strippedETag = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+
+		for (String value : header.split(",")) {
+			String trimmedValue = value.trim();
+
+			if (trimmedValue.equals("*")) {
+				return true;
+			}
+
+			if ((trimmedValue.startsWith("W/") ? trimmedValue.substring(2) : trimmedValue).equals(strippedETag)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns the value of the given request date header, or -1 if it is absent or cannot be parsed.
+	 */
+	private static long getRequestDateHeader(HttpServletRequest request, String name) {
+		try {
+			return request.getDateHeader(name);
+		}
+		catch (IllegalArgumentException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Sets the given date as response header in RFC1123 format.
+	 */
+	private static void addResponseDateHeader(FacesContext context, String name, long time) {
+		context.getExternalContext().setResponseHeader(name, Utils.formatRFC1123(new Date(time)));
+	}
+
+	/**
+	 * Returns the <code>Content-Range</code> header value for the given byte range and total length.
+	 */
+	private static String formatContentRange(long[] range, long length) {
+		return String.format("bytes %d-%d/%d", range[0], range[1], length);
+	}
+
+	// Nested classes -------------------------------------------------------------------------------------------------
+
+	/**
+	 * Streams the content of {@link #sendFileAsync(FacesContext, InputStream, String, boolean)} to the response of the
+	 * given async context and then completes it. When the async context times out or fails before the streaming is
+	 * finished, e.g. because of a too slow or stalled client, then the content is closed, so that the streaming is
+	 * aborted, and the async context is completed right away.
+	 */
+	private static final class SendFileAsyncTask implements Runnable, AsyncListener {
+
+		private final AsyncContext asyncContext;
+		private final InputStream content;
+		private final AtomicBoolean completed = new AtomicBoolean();
+
+		public SendFileAsyncTask(AsyncContext asyncContext, InputStream content) {
+			this.asyncContext = asyncContext;
+			this.content = content;
+		}
+
+		@Override
+		public void run() {
+			try {
+				// Blocking writes on this I/O thread naturally throttle reading to the client's pace.
+				Utils.stream(content, asyncContext.getResponse().getOutputStream());
+			}
+			catch (IOException e) {
+				logger.log(Level.FINE, ERROR_SENDFILE_ASYNC, e); // Usually just the client aborting download.
+			}
+			finally {
+				complete();
+			}
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			abort();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			abort();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			// NOOP.
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			Utils.close(content); // Just in case the streaming has never started.
+		}
+
+		private void abort() {
+			Utils.close(content);
+			complete();
+		}
+
+		private void complete() {
+			if (completed.compareAndSet(false, true)) {
+				asyncContext.complete();
+			}
+		}
+
+	}
+
+	/**
+	 * Abstract representation of file download content whose length, last modified timestamp and ETag are known
+	 * beforehand, so that conditional and partial GET requests can be served.
+	 */
+	private static abstract class SendFileContent {
+
+		/**
+		 * Returns the length of the content in bytes.
+		 */
+		abstract long getLength();
+
+		/**
+		 * Returns the last modified timestamp of the content, or -1 if it is unknown.
+		 */
+		abstract long getLastModified();
+
+		/**
+		 * Returns the ETag of the content, including the surrounding quotes and, if it is a weak one, the W/ prefix.
+		 */
+		abstract String getETag();
+
+		/**
+		 * Writes the given range of the content to the given output stream. The output stream will not be closed.
+		 */
+		abstract void write(OutputStream output, long start, long length) throws IOException;
+
+		/**
+		 * Hands off sending the given range of the content to the servletcontainer's own sendfile support, if any.
+		 * The default implementation returns <code>false</code>.
+		 * @return <code>true</code> if the servletcontainer will send the content, or <code>false</code> if the
+		 * content still needs to be written by {@link #write(OutputStream, long, long)}.
+		 */
+		boolean sendfile(HttpServletRequest request, HttpServletResponse response, long start, long length)
+			throws IOException
+		{
+			return false;
+		}
+
+	}
+
+	private static final class FileContent extends SendFileContent {
+
+		private final File file;
+		private final long length;
+		private final long lastModified;
+
+		public FileContent(File file) throws IOException {
+			if (!file.isFile()) {
+				throw new FileNotFoundException(file.getPath());
+			}
+
+			this.file = file;
+			length = file.length();
+			lastModified = file.lastModified();
+		}
+
+		@Override
+		long getLength() {
+			return length;
+		}
+
+		@Override
+		long getLastModified() {
+			return lastModified;
+		}
+
+		@Override
+		String getETag() {
+			return String.format("\"%x-%x\"", length, lastModified);
+		}
+
+		@Override
+		void write(OutputStream output, long start, long length) throws IOException {
+			FileInputStream input = new FileInputStream(file);
+
+			try {
+				Utils.transfer(input.getChannel(), start, length, output);
+			}
+			finally {
+				Utils.close(input);
+			}
+		}
+
+		/**
+		 * Tomcat only honors the sendfile attributes when the request and response are its own facades. When any of
+		 * them is wrapped, e.g. by a gzip or counting filter, then the content must go through the wrapper instead.
+		 */
+		@Override
+		boolean sendfile(HttpServletRequest request, HttpServletResponse response, long start, long length)
+			throws IOException
+		{
+			if (!Boolean.TRUE.equals(request.getAttribute(ATTRIBUTE_SENDFILE_SUPPORT))
+				|| !CLASS_NAME_TOMCAT_REQUEST_FACADE.equals(request.getClass().getName())
+				|| !CLASS_NAME_TOMCAT_RESPONSE_FACADE.equals(response.getClass().getName()))
+			{
+				return false;
+			}
+
+			request.setAttribute(ATTRIBUTE_SENDFILE_FILENAME, file.getCanonicalPath());
+			request.setAttribute(ATTRIBUTE_SENDFILE_START, start);
+			request.setAttribute(ATTRIBUTE_SENDFILE_END, start + length);
+			return true;
+		}
+
+	}
+
+	private static final class ByteArrayContent extends SendFileContent {
+
+		private final byte[] content;
+
+		public ByteArrayContent(byte[] content) {
+			this.content = content;
+		}
+
+		@Override
+		long getLength() {
+			return content.length;
+		}
+
+		@Override
+		long getLastModified() {
+			return -1;
+		}
+
+		@Override
+		String getETag() {
+			// The hash code is not collision free, so this must be a weak ETag, which is not used for If-Range.
+			return String.format("W/\"%x-%x\"", content.length, Arrays.hashCode(content));
+		}
+
+		@Override
+		void write(OutputStream output, long start, long length) throws IOException {
+			output.write(content, (int) start, (int) length);
 		}
 
-		context.responseComplete();
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.util;
+
+import java.text.Format;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.omnifaces.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+
+/**
+ * Pool of compiled {@link Format} instances, such as <code>SimpleDateFormat</code>, <code>DecimalFormat</code> and
+ * <code>MessageFormat</code>, for among others the EL functions and the default message resolver. Those are expensive
+ * to create, because the pattern needs to be parsed, and they are not thread safe, so they can't be shared. This pool
+ * therefore keeps a small amount of idle instances per key in a LRU map bounded by the given maximum amount of keys, so
+ * that they can be reused by subsequent invocations in any thread. Formats whose keys have a very different variety,
+ * such as message formats whose pattern is the message itself, should use a separate pool, so that they don't evict
+ * the formats of other pools.
+ * <p>
+ * Usage:
+ * <pre>
+ * private static final FormatPool POOL = new FormatPool(100);
+ *
+ * public static String format(Number number, String pattern) {
+ *     Key key = new DecimalFormatKey(pattern);
+ *     DecimalFormat formatter = POOL.borrow(key);
+ *
+ *     try {
+ *         return formatter.format(number);
+ *     }
+ *     finally {
+ *         POOL.release(key, formatter);
+ *     }
+ * }
+ *
+ * private static final class DecimalFormatKey extends FormatPool.Key {
+ *
+ *     private final String pattern;
+ *
+ *     public DecimalFormatKey(String pattern) {
+ *         super(pattern);
+ *         this.pattern = pattern;
+ *     }
+ *
+ *     &#64;Override
+ *     protected Format create() {
+ *         return new DecimalFormat(pattern);
+ *     }
+ *
+ * }
+ * </pre>
+ *
+ * @since 1.8
+ */
+public final class FormatPool {
+
+	// Constants ------------------------------------------------------------------------------------------------------
+
+	private static final int MAX_IDLE_FORMATS_PER_KEY = 16;
+
+	// Properties -----------------------------------------------------------------------------------------------------
+
+	private final ConcurrentMap<Key, Pool> pools;
+
+	// Constructors ---------------------------------------------------------------------------------------------------
+
+	/**
+	 * Construct a new format pool which holds idle formats for at most the given amount of keys. The least recently
+	 * used key is evicted when there are more.
+	 * @param maxKeys The maximum amount of keys.
+	 */
+	public FormatPool(int maxKeys) {
+		pools = new ConcurrentLinkedHashMap.Builder<Key, Pool>()
+			.maximumWeightedCapacity(maxKeys)
+			.build();
+	}
+
+	// Actions --------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Borrow a format for the given key from the pool. If there is no idle one, then a new one will be created.
+	 * @param key The key of the format.
+	 * @return A format for the given key, which is guaranteed not to be used by another thread until it is released.
+	 */
+	@SuppressWarnings("unchecked")
+	public <F extends Format> F borrow(Key key) {
+		Pool pool = pools.get(key);
+
+		if (pool != null) {
+			Format format = pool.formats.poll();
+
+			if (format != null) {
+				pool.size.decrementAndGet();
+				return (F) format;
+			}
+		}
+
+		return (F) key.create();
+	}
+
+	/**
+	 * Release the given format which was borrowed for the given key to the pool. If the pool has enough idle formats
+	 * for the given key already, then it will just be left for garbage collection.
+	 * @param key The key of the format.
+	 * @param format The format which was borrowed for the given key.
+	 */
+	public void release(Key key, Format format) {
+		Pool pool = pools.get(key);
+
+		if (pool == null) {
+			Pool newPool = new Pool();
+			pool = pools.putIfAbsent(key, newPool);
+
+			if (pool == null) {
+				pool = newPool;
+			}
+		}
+
+		if (pool.size.incrementAndGet() <= MAX_IDLE_FORMATS_PER_KEY) {
+			pool.formats.offer(format);
+		}
+		else {
+			pool.size.decrementAndGet();
+		}
+	}
+
+	// Nested classes -------------------------------------------------------------------------------------------------
+
+	/**
+	 * The key of a format in the pool, which also knows how to create a new format. The key is composed of the format
+	 * type, which is usually the class of the key, and all parts which are necessary to create the format, such as the
+	 * pattern, locale and timezone.
+	 */
+	public abstract static class Key {
+
+		private final Object[] parts;
+		private final int hashCode;
+
+		/**
+		 * Construct a new key composed of the given parts.
+		 * @param parts The parts, such as the pattern, locale and timezone.
+		 */
+		protected Key(Object... parts) {
+			this.parts = parts;
+			hashCode = getClass().hashCode() * 31 + Arrays.hashCode(parts);
+		}
+
+		/**
+		 * Create a new format for this key.
+		 * @return A new format for this key.
+		 */
+		protected abstract Format create();
+
+		@Override
+		public boolean equals(Object object) {
+			return object != null && object.getClass() == getClass() && Arrays.equals(((Key) object).parts, parts);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+	}
+
+	/**
+	 * The idle formats of a single key.
+	 */
+	private static final class Pool {
+
+		private final Queue<Format> formats = new ConcurrentLinkedQueue<Format>();
+		private final AtomicInteger size = new AtomicInteger();
+
+	}
+
+}
@@ -79,6 +79,10 @@ public final class Hacks {
 
 	private static final Object[] EMPTY_PARAMETERS = new Object[0];
 
+	// Variables ------------------------------------------------------------------------------------------------------
+
+	private static volatile MethodInternals methodInternals;
+
 	// Constructors/init ----------------------------------------------------------------------------------------------
 
 	private Hacks() {
@@ -299,25 +303,18 @@ public final class Hacks {
 		MethodInfo methodInfo = methodExpression.getMethodInfo(FacesContext.getCurrentInstance().getELContext());
 
 		try {
+			// The reflective members of the JDK internals are looked up only once.
+			MethodInternals internals = getMethodInternals();
+
 			// Create a Method instance with the signature (return type, name, parameter types) corresponding
 			// to the method the MethodExpression references.
-			Constructor<Method> methodConstructor = Method.class.getDeclaredConstructor(Class.class,
-				String.class, Class[].class, Class.class,
-				Class[].class, int.class, int.class, String.class, byte[].class, byte[].class, byte[].class
-			);
-			methodConstructor.setAccessible(true);
-			Method staticMethod = methodConstructor.newInstance(null,
+			Method staticMethod = internals.methodConstructor.newInstance(null,
 				methodInfo.getName(), methodInfo.getParamTypes(), methodInfo.getReturnType(),
 				null, 0, 0, null, null, null, null
 			);
 
-			// The Sun/Oracle/OpenJDK Method makes use of a private delegator called MethodAccessor.
-			// Though specific to those JDKs, this is what we can use to let our Method instance execute something
-			// we want. (simply overriding the invoke method would be much better, but unfortunately Method is final)
-			Class<?> methodAccessorClass = Class.forName("sun.reflect.MethodAccessor");
-
 			// Create a proxy for our MethodAccessor, so we don't have to reference the actual type at compile-time.
-			Object MethodAccessor = Proxy.newProxyInstance(Method.class.getClassLoader(), new Class[] { methodAccessorClass },
+			Object MethodAccessor = Proxy.newProxyInstance(Method.class.getClassLoader(), new Class[] { internals.methodAccessorClass },
 					new InvocationHandler() {
 
 						@Override
@@ -336,15 +333,8 @@ public final class Hacks {
 						}
 					});
 
-			Method setMethodAccessor = Method.class.getDeclaredMethod("setMethodAccessor", methodAccessorClass);
-			setMethodAccessor.setAccessible(true);
-			setMethodAccessor.invoke(staticMethod, MethodAccessor);
-
-			// Another private implementation detail of the Sun/Oracle/OpenJDK Method - unless override is set
-			// to true, a couple of nasty language checks are done before invoking the MethodAccessor
-			Field override = AccessibleObject.class.getDeclaredField("override");
-			override.setAccessible(true);
-			override.set(staticMethod, true);
+			internals.setMethodAccessor.invoke(staticMethod, MethodAccessor);
+			internals.override.set(staticMethod, true);
 
 			return staticMethod;
 		}
@@ -353,6 +343,51 @@ public final class Hacks {
 		}
 	}
 
+	/**
+	 * Returns the reflective members of the JDK internals which are needed by
+	 * {@link #methodExpressionToStaticMethod(ELContext, MethodExpression)}. They are looked up only once.
+	 */
+	private static MethodInternals getMethodInternals() throws Exception {
+		if (methodInternals == null) {
+			methodInternals = new MethodInternals(); // Racy, but harmless, as they are all the same.
+		}
+
+		return methodInternals;
+	}
+
+	/**
+	 * The reflective members of the JDK internals which are needed to let a {@link Method} instance invoke a
+	 * {@link MethodExpression}.
+	 */
+	private static final class MethodInternals {
+
+		private final Constructor<Method> methodConstructor;
+		private final Class<?> methodAccessorClass;
+		private final Method setMethodAccessor;
+		private final Field override;
+
+		public MethodInternals() throws Exception {
+			methodConstructor = Method.class.getDeclaredConstructor(Class.class,
+				String.class, Class[].class, Class.class,
+				Class[].class, int.class, int.class, String.class, byte[].class, byte[].class, byte[].class
+			);
+			methodConstructor.setAccessible(true);
+
+			// The Sun/Oracle/OpenJDK Method makes use of a private delegator called MethodAccessor.
+			// Though specific to those JDKs, this is what we can use to let our Method instance execute something
+			// we want. (simply overriding the invoke method would be much better, but unfortunately Method is final)
+			methodAccessorClass = Class.forName("sun.reflect.MethodAccessor");
+			setMethodAccessor = Method.class.getDeclaredMethod("setMethodAccessor", methodAccessorClass);
+			setMethodAccessor.setAccessible(true);
+
+			// Another private implementation detail of the Sun/Oracle/OpenJDK Method - unless override is set
+			// to true, a couple of nasty language checks are done before invoking the MethodAccessor
+			override = AccessibleObject.class.getDeclaredField("override");
+			override.setAccessible(true);
+		}
+
+	}
+
 	/**
 	 * Remove the resource dependency processing related attributes from the given faces context.
 	 * @param context The involved faces context.
@@ -16,11 +16,19 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+
+import org.omnifaces.util.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
 
 /**
  * A simple JSON encoder.
@@ -32,6 +40,12 @@ public final class Json {
 
 	// Constants ------------------------------------------------------------------------------------------------------
 
+	private static final int MAX_BEAN_PROPERTIES_CACHE_SIZE = 1000;
+	private static final ConcurrentMap<Class<?>, BeanProperty[]> BEAN_PROPERTIES_CACHE =
+		new ConcurrentLinkedHashMap.Builder<Class<?>, BeanProperty[]>()
+			.maximumWeightedCapacity(MAX_BEAN_PROPERTIES_CACHE_SIZE)
+			.build();
+
 	private static final String ERROR_INVALID_BEAN = "Cannot introspect object of type '%s' as bean.";
 	private static final String ERROR_INVALID_GETTER = "Cannot invoke getter of property '%s' of bean '%s'.";
 
@@ -56,14 +70,36 @@ public final class Json {
 	 */
 	public static String encode(Object object) {
 		StringBuilder builder = new StringBuilder();
-		encode(object, builder);
+
+		try {
+			encode(object, builder);
+		}
+		catch (IOException e) {
+			// This will never occur as StringBuilder doesn't throw it.
+			throw new IllegalStateException(e);
+		}
+
 		return builder.toString();
 	}
 
+	/**
+	 * Encodes the given object as JSON and writes it straight to the given writer, without buffering the whole JSON
+	 * string in memory first. This is useful for large objects which are to be written to the response.
+	 * @param object The object to be encoded as JSON.
+	 * @param writer The writer to write the JSON-encoded representation of the given object to.
+	 * @throws IOException When an I/O error occurs while writing to the given writer.
+	 * @throws IllegalArgumentException When the given object or one of its properties cannot be inspected as a bean.
+	 * @see #encode(Object)
+	 * @since 1.8
+	 */
+	public static void encode(Object object, Writer writer) throws IOException {
+		encode(object, (Appendable) writer);
+	}
+
 	/**
 	 * Method allowing tail recursion (prevents potential stack overflow on deeply nested structures).
 	 */
-	private static void encode(Object object, StringBuilder builder) {
+	private static void encode(Object object, Appendable builder) throws IOException {
 		if (object == null) {
 			builder.append("null");
 		}
@@ -93,7 +129,7 @@ public final class Json {
 	/**
 	 * Encode a Java collection as JS array.
 	 */
-	private static void encodeCollection(Collection<?> collection, StringBuilder builder) {
+	private static void encodeCollection(Collection<?> collection, Appendable builder) throws IOException {
 		builder.append('[');
 		int i = 0;
 
@@ -111,7 +147,7 @@ public final class Json {
 	/**
 	 * Encode a Java array as JS array.
 	 */
-	private static void encodeArray(Object array, StringBuilder builder) {
+	private static void encodeArray(Object array, Appendable builder) throws IOException {
 		builder.append('[');
 		int length = Array.getLength(array);
 
@@ -129,7 +165,7 @@ public final class Json {
 	/**
 	 * Encode a Java map as JS object.
 	 */
-	private static void encodeMap(Map<?, ?> map, StringBuilder builder) {
+	private static void encodeMap(Map<?, ?> map, Appendable builder) throws IOException {
 		builder.append('{');
 		int i = 0;
 
@@ -149,33 +185,19 @@ public final class Json {
 	/**
 	 * Encode a Java bean as JS object.
 	 */
-	private static void encodeBean(Object bean, StringBuilder builder) {
-		BeanInfo beanInfo;
-
-		try {
-			beanInfo = Introspector.getBeanInfo(bean.getClass());
-		}
-		catch (IntrospectionException e) {
-			throw new IllegalArgumentException(
-				String.format(ERROR_INVALID_BEAN, bean.getClass()), e);
-		}
-
+	private static void encodeBean(Object bean, Appendable builder) throws IOException {
 		builder.append('{');
 		int i = 0;
 
-		for (PropertyDescriptor property : beanInfo.getPropertyDescriptors()) {
-			if (property.getReadMethod() == null || "class".equals(property.getName())) {
-				continue;
-			}
-
+		for (BeanProperty property : getBeanProperties(bean.getClass())) {
 			Object value;
 
 			try {
-				value = property.getReadMethod().invoke(bean);
+				value = property.getter.invoke(bean);
 			}
 			catch (Exception e) {
 				throw new IllegalArgumentException(
-					String.format(ERROR_INVALID_GETTER, property.getName(), bean.getClass()), e);
+					String.format(ERROR_INVALID_GETTER, property.name, bean.getClass()), e);
 			}
 
 			if (value == null) {
@@ -186,12 +208,63 @@ public final class Json {
 				builder.append(',');
 			}
 
-			encode(property.getName(), builder);
-			builder.append(':');
+			builder.append(property.encodedName).append(':');
 			encode(value, builder);
 		}
 
 		builder.append('}');
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Returns the readable properties of the given bean class from the local cache. If absent, then the bean class
+	 * will be introspected.
+	 */
+	private static BeanProperty[] getBeanProperties(Class<?> beanClass) {
+		BeanProperty[] properties = BEAN_PROPERTIES_CACHE.get(beanClass);
+
+		if (properties == null) {
+			BeanInfo beanInfo;
+
+			try {
+				beanInfo = Introspector.getBeanInfo(beanClass);
+			}
+			catch (IntrospectionException e) {
+				throw new IllegalArgumentException(
+					String.format(ERROR_INVALID_BEAN, beanClass), e);
+			}
+
+			List<BeanProperty> readableProperties = new ArrayList<BeanProperty>();
+
+			for (PropertyDescriptor property : beanInfo.getPropertyDescriptors()) {
+				if (property.getReadMethod() != null && !"class".equals(property.getName())) {
+					readableProperties.add(new BeanProperty(property.getName(), property.getReadMethod()));
+				}
+			}
+
+			properties = readableProperties.toArray(new BeanProperty[readableProperties.size()]);
+			BEAN_PROPERTIES_CACHE.putIfAbsent(beanClass, properties);
+		}
+
+		return properties;
+	}
+
+	// Nested classes -------------------------------------------------------------------------------------------------
+
+	/**
+	 * A readable bean property with its getter and its already JSON-encoded name.
+	 */
+	private static final class BeanProperty {
+
+		private final String name;
+		private final String encodedName;
+		private final Method getter;
+
+		public BeanProperty(String name, Method getter) {
+			this.name = name;
+			this.encodedName = encode(name);
+			this.getter = getter;
+		}
+
+	}
+
+}
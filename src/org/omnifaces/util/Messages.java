@@ -13,6 +13,7 @@
 package org.omnifaces.util;
 
 import java.text.MessageFormat;
+import java.util.Locale;
 
 import javax.faces.application.FacesMessage;
 import javax.faces.bean.ApplicationScoped;
@@ -89,7 +90,7 @@ public final class Messages {
 
 		@Override
 		public String getMessage(String message, Object... params) {
-			return MessageFormat.format(message, params);
+			return Utils.formatMessage(message, Locale.getDefault(), params);
 		}
 
 	};
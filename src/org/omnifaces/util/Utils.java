@@ -18,6 +18,7 @@ import static java.util.regex.Pattern.quote;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -26,10 +27,11 @@ import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Array;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
-import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
+import java.text.Format;
+import java.text.MessageFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -44,9 +46,17 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
@@ -65,6 +75,11 @@ public final class Utils {
 	// Constants ------------------------------------------------------------------------------------------------------
 
 	private static final int DEFAULT_STREAM_BUFFER_SIZE = 10240;
+	private static final int MAX_POOLED_STREAM_BUFFERS = 64;
+	private static final Queue<byte[]> STREAM_BUFFER_POOL = new ConcurrentLinkedQueue<byte[]>();
+	private static final AtomicInteger STREAM_BUFFER_POOL_SIZE = new AtomicInteger();
+	private static final int MAX_MESSAGE_FORMATS = 100;
+	private static final FormatPool MESSAGE_FORMAT_POOL = new FormatPool(MAX_MESSAGE_FORMATS);
 	private static final String PATTERN_RFC1123_DATE = "EEE, dd MMM yyyy HH:mm:ss zzz";
 	private static final TimeZone TIMEZONE_GMT = TimeZone.getTimeZone("GMT");
 	private static final String ERROR_UNSUPPORTED_ENCODING = "UTF-8 is apparently not supported on this machine.";
@@ -248,34 +263,127 @@ public final class Utils {
 	// I/O ------------------------------------------------------------------------------------------------------------
 
 	/**
-	 * Stream the given input to the given output by NIO {@link ByteBuffer}. Both the input and output streams will
-	 * implicitly be closed after streaming, regardless of whether an exception is been thrown or not.
+	 * Stream the given input to the given output using a default buffer size of 10KB. Both the input and output
+	 * streams will implicitly be closed after streaming, regardless of whether an exception is been thrown or not.
 	 * @param input The input stream.
 	 * @param output The output stream.
 	 * @return The length of the written bytes.
 	 * @throws IOException When an I/O error occurs.
+	 * @see #stream(InputStream, OutputStream, int)
 	 */
 	public static long stream(InputStream input, OutputStream output) throws IOException {
-		ReadableByteChannel inputChannel = null;
-		WritableByteChannel outputChannel = null;
+		return stream(input, output, DEFAULT_STREAM_BUFFER_SIZE);
+	}
 
+	/**
+	 * Stream the given input to the given output using the given buffer size. Both the input and output streams will
+	 * implicitly be closed after streaming, regardless of whether an exception is been thrown or not.
+	 * <p>
+	 * If the input is a {@link FileInputStream}, then its remaining content is transferred by
+	 * {@link FileChannel#transferTo(long, long, WritableByteChannel)}. Otherwise the content is copied through a
+	 * <code>byte[]</code> buffer which is borrowed from a small pool of buffers and returned to it afterwards, so that
+	 * no buffer needs to be allocated on every invocation. Only buffers of the default size of 10KB are pooled.
+	 * @param input The input stream.
+	 * @param output The output stream.
+	 * @param bufferSize The buffer size to use.
+	 * @return The length of the written bytes.
+	 * @throws IOException When an I/O error occurs.
+	 * @since 1.8
+	 */
+	public static long stream(InputStream input, OutputStream output, int bufferSize) throws IOException {
 		try {
-			inputChannel = Channels.newChannel(input);
-			outputChannel = Channels.newChannel(output);
-			ByteBuffer buffer = ByteBuffer.allocateDirect(DEFAULT_STREAM_BUFFER_SIZE);
-			long size = 0;
-
-			while (inputChannel.read(buffer) != -1) {
-				buffer.flip();
-				size += outputChannel.write(buffer);
-				buffer.clear();
+			if (input instanceof FileInputStream) {
+				return transfer(((FileInputStream) input).getChannel(), output);
 			}
 
-			return size;
+			// A ByteArrayInputStream not larger than the buffer is this way copied in a single read/write.
+			byte[] buffer = borrowStreamBuffer(bufferSize);
+
+			try {
+				long size = 0;
+
+				for (int length; (length = input.read(buffer)) != -1;) {
+					output.write(buffer, 0, length);
+					size += length;
+				}
+
+				return size;
+			}
+			finally {
+				releaseStreamBuffer(buffer);
+			}
 		}
 		finally {
-			close(outputChannel);
-			close(inputChannel);
+			close(output);
+			close(input);
+		}
+	}
+
+	/**
+	 * Transfer the remaining content of the given file channel to the given output stream.
+	 */
+	private static long transfer(FileChannel input, OutputStream output) throws IOException {
+		long start = input.position();
+		long size = transfer(input, start, input.size() - start, output);
+		input.position(start + size);
+		return size;
+	}
+
+	/**
+	 * Transfer the given range of the given file channel to the given output stream. The output stream will not be
+	 * closed. It's written straight to when it offers a channel, otherwise it's wrapped in one, in which case the JDK
+	 * copies through its own per-thread cached direct buffer. Returns the amount of transferred bytes, which is less
+	 * than the given length if the file has been truncated in the meanwhile.
+	 */
+	static long transfer(FileChannel input, long start, long length, OutputStream output) throws IOException {
+		WritableByteChannel outputChannel = (output instanceof WritableByteChannel)
+			? (WritableByteChannel) output
+			: Channels.newChannel(output);
+		long position = start;
+		long end = start + length;
+
+		while (position < end) {
+			long transferred = input.transferTo(position, end - position, outputChannel);
+
+			if (transferred <= 0) {
+				break;
+			}
+
+			position += transferred;
+		}
+
+		return position - start;
+	}
+
+	/**
+	 * Returns a pooled buffer if the given size is the default size and the pool is not empty, else a new buffer.
+	 */
+	private static byte[] borrowStreamBuffer(int bufferSize) {
+		if (bufferSize == DEFAULT_STREAM_BUFFER_SIZE) {
+			byte[] buffer = STREAM_BUFFER_POOL.poll();
+
+			if (buffer != null) {
+				STREAM_BUFFER_POOL_SIZE.decrementAndGet();
+				return buffer;
+			}
+		}
+
+		return new byte[bufferSize];
+	}
+
+	/**
+	 * Returns the given buffer to the pool if it is of the default size and the pool is not full yet.
+	 */
+	private static void releaseStreamBuffer(byte[] buffer) {
+		if (buffer.length != DEFAULT_STREAM_BUFFER_SIZE) {
+			return;
+		}
+
+		if (STREAM_BUFFER_POOL_SIZE.incrementAndGet() <= MAX_POOLED_STREAM_BUFFERS) {
+			STREAM_BUFFER_POOL.offer(buffer);
+		}
+		else {
+			STREAM_BUFFER_POOL_SIZE.decrementAndGet();
 		}
 	}
 
@@ -476,6 +584,54 @@ public final class Utils {
 		return nullSafeTreeSet;
 	}
 
+	/**
+	 * Returns the value associated with the given key in the given cache. If there is none, then compute it by the
+	 * given callable. Concurrent callers for the same key will wait for the same computation instead of computing it
+	 * once more. A <code>null</code> value is cached as well. A failed computation is not cached, so that a next call
+	 * for the same key will retry it.
+	 * @param cache The cache holding the (pending) computations.
+	 * @param key The key of the desired value.
+	 * @param callable The computation of the desired value, invoked only when the key is absent in the cache.
+	 * @return The cached or computed value.
+	 * @throws IllegalStateException When the current thread is interrupted while waiting for a concurrent computation,
+	 * or when the computation threw a checked exception.
+	 * @since 1.8
+	 */
+	public static <K, V> V getOrCompute(ConcurrentMap<K, Future<V>> cache, K key, Callable<V> callable) {
+		Future<V> future = cache.get(key);
+
+		if (future == null) {
+			FutureTask<V> task = new FutureTask<V>(callable);
+			future = cache.putIfAbsent(key, task);
+
+			if (future == null) {
+				future = task;
+				task.run();
+			}
+		}
+
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		catch (ExecutionException e) {
+			cache.remove(key, future);
+			Throwable cause = e.getCause();
+
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+
+			throw new IllegalStateException(cause);
+		}
+	}
+
 	// Dates ----------------------------------------------------------------------------------------------------------
 
 	/**
@@ -503,6 +659,30 @@ public final class Utils {
 		return sdf.parse(string);
 	}
 
+	// Formatting ---------------------------------------------------------------------------------------------------
+
+	/**
+	 * Format the given message pattern with the given parameters in the given locale using {@link MessageFormat}. The
+	 * compiled message format is obtained from a {@link FormatPool} dedicated to message formats, so that the pattern
+	 * doesn't need to be parsed on every call, while the variety of messages doesn't evict other formats.
+	 * @param pattern The message format pattern.
+	 * @param locale The locale.
+	 * @param params The message format parameters, if any.
+	 * @return The formatted message.
+	 * @since 1.8
+	 */
+	public static String formatMessage(String pattern, Locale locale, Object... params) {
+		MessageFormatKey key = new MessageFormatKey(pattern, locale);
+		MessageFormat formatter = MESSAGE_FORMAT_POOL.borrow(key);
+
+		try {
+			return formatter.format(params);
+		}
+		finally {
+			MESSAGE_FORMAT_POOL.release(key, formatter);
+		}
+	}
+
 	// Encoding/decoding ----------------------------------------------------------------------------------------------
 
 	/**
@@ -688,6 +868,27 @@ public final class Utils {
 
 	// Nested classes -------------------------------------------------------------------------------------------------
 
+	/**
+	 * The key of a compiled message format in the {@link FormatPool}.
+	 */
+	private static final class MessageFormatKey extends FormatPool.Key {
+
+		private final String pattern;
+		private final Locale locale;
+
+		public MessageFormatKey(String pattern, Locale locale) {
+			super(pattern, locale);
+			this.pattern = pattern;
+			this.locale = locale;
+		}
+
+		@Override
+		protected Format create() {
+			return new MessageFormat(pattern, locale);
+		}
+
+	}
+
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private static class NullComparator implements Comparator<Comparable>, Serializable {
 
@@ -19,6 +19,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import javax.el.ELContext;
+import javax.el.ValueExpression;
 import javax.faces.component.UIComponent;
 import javax.faces.component.UISelectItem;
 import javax.faces.component.UISelectItems;
@@ -119,6 +121,9 @@ public final class SelectItemsCollector {
 	/**
 	 * This method runs the algorithm expressed by a <code>UISelectItems<code> component that uses the <code>var</code> iterator construct to generate
 	 * a list of <code>SelectItem</code>s.
+	 * <p>
+	 * The attributes of the <code>UISelectItems</code> component are inspected only once. Literal attribute values are obtained only once and only
+	 * the attributes with a value expression are evaluated again during each iteration.
 	 *
 	 * @param uiSelectItems
 	 * @param items
@@ -127,17 +132,18 @@ public final class SelectItemsCollector {
 	 */
 	public static List<SelectItem> collectFromUISelectItemsIterator(FacesContext facesContext, UISelectItems uiSelectItems, Iterable<?> items) {
 
-		final List<SelectItem> selectItems = new ArrayList<SelectItem>();
-
-		final Map<String, Object> attributes = uiSelectItems.getAttributes();
-		String var = (String) attributes.get("var");
+		List<SelectItem> selectItems = new ArrayList<SelectItem>();
+		String var = (String) uiSelectItems.getAttributes().get("var");
 
 		// Helper class that's used to set the item value in (EL) scope using the name set by "var" during the iteration.
 		// If during each iteration the value of this is changed, any value expressions in the attribute
 		// map referring it will resolve to that particular instance.
 		ScopedRunner scopedRunner = new ScopedRunner(facesContext);
 
-		for (final Object item : items) {
+		// The callback which resolves the attributes is created only once and reused during each iteration.
+		SelectItemCreator selectItemCreator = new SelectItemCreator(facesContext, uiSelectItems, selectItems);
+
+		for (Object item : items) {
 
 			// If the item is already a SelectItem, take it directly.
 			// NOTE: I'm not 100% sure if this is right, since it now allows a collection to consist
@@ -154,36 +160,88 @@ public final class SelectItemsCollector {
 				scopedRunner.with(var, item);
 			}
 
-			// During each iteration, just resolve all attributes again.
-			scopedRunner.invoke(new Callback.Void() { @Override public void invoke() {
-
-				Object itemValue = getItemValue(attributes, item);
-				Object noSelectionValue = attributes.get("noSelectionValue");
-				boolean itemValueIsNoSelectionValue = noSelectionValue != null && noSelectionValue.equals(itemValue);
-
-				selectItems.add(new SelectItem(
-					itemValue,
-					getItemLabel(attributes, itemValue),
-					getItemDescription(attributes),
-					getBooleanAttribute(attributes, "itemDisabled", false),
-					getBooleanAttribute(attributes, "itemLabelEscaped", true),
-					getBooleanAttribute(attributes, "noSelectionOption", false) || itemValueIsNoSelectionValue
-				));
-			}});
+			// During each iteration, just resolve all dynamic attributes again.
+			selectItemCreator.item = item;
+			scopedRunner.invoke(selectItemCreator);
 		}
 
 		return selectItems;
 	}
 
+	/**
+	 * Callback which creates a <code>SelectItem</code> for the current item based on the attributes of the <code>UISelectItems</code>.
+	 */
+	private static final class SelectItemCreator implements Callback.Void {
+
+		private final List<SelectItem> selectItems;
+		private final SelectItemsAttribute itemValue;
+		private final SelectItemsAttribute itemLabel;
+		private final SelectItemsAttribute itemDescription;
+		private final SelectItemsAttribute itemDisabled;
+		private final SelectItemsAttribute itemLabelEscaped;
+		private final SelectItemsAttribute noSelectionOption;
+		private final SelectItemsAttribute noSelectionValue;
+		private Object item;
+
+		public SelectItemCreator(FacesContext context, UISelectItems uiSelectItems, List<SelectItem> selectItems) {
+			this.selectItems = selectItems;
+			itemValue = new SelectItemsAttribute(context, uiSelectItems, "itemValue");
+			itemLabel = new SelectItemsAttribute(context, uiSelectItems, "itemLabel");
+			itemDescription = new SelectItemsAttribute(context, uiSelectItems, "itemDescription");
+			itemDisabled = new SelectItemsAttribute(context, uiSelectItems, "itemDisabled");
+			itemLabelEscaped = new SelectItemsAttribute(context, uiSelectItems, "itemLabelEscaped");
+			noSelectionOption = new SelectItemsAttribute(context, uiSelectItems, "noSelectionOption");
+			noSelectionValue = new SelectItemsAttribute(context, uiSelectItems, "noSelectionValue");
+		}
+
+		@Override
+		public void invoke() {
+			Object value = getItemValue(itemValue.getValue(), item);
+			Object noSelectionValueObj = noSelectionValue.getValue();
+			boolean itemValueIsNoSelectionValue = noSelectionValueObj != null && noSelectionValueObj.equals(value);
+
+			selectItems.add(new SelectItem(
+				value,
+				getItemLabel(itemLabel.getValue(), value),
+				getItemDescription(itemDescription.getValue()),
+				getBooleanAttribute(itemDisabled.getValue(), false),
+				getBooleanAttribute(itemLabelEscaped.getValue(), true),
+				getBooleanAttribute(noSelectionOption.getValue(), false) || itemValueIsNoSelectionValue
+			));
+		}
+
+	}
+
+	/**
+	 * An attribute of the <code>UISelectItems</code> component. If it's a value expression, then it's evaluated on every call of
+	 * {@link #getValue()}, else the literal value is obtained only once.
+	 */
+	private static final class SelectItemsAttribute {
+
+		private final ELContext elContext;
+		private final ValueExpression valueExpression;
+		private final Object literalValue;
+
+		public SelectItemsAttribute(FacesContext context, UISelectItems uiSelectItems, String name) {
+			elContext = context.getELContext();
+			valueExpression = uiSelectItems.getValueExpression(name);
+			literalValue = (valueExpression == null) ? uiSelectItems.getAttributes().get(name) : null;
+		}
+
+		public Object getValue() {
+			return (valueExpression != null) ? valueExpression.getValue(elContext) : literalValue;
+		}
+
+	}
+
 	/**
 	 * Gets the optional value. It defaults to the item itself if not specified.
 	 *
-	 * @param attributes the attributes from which the label is fetched.
+	 * @param itemValue the value of the itemValue attribute.
 	 * @param item default value if no item value present
 	 * @return the value, or the item if none is present
 	 */
-	private static Object getItemValue(Map<String, Object> attributes, Object item) {
-		Object itemValue = attributes.get("itemValue");
+	private static Object getItemValue(Object itemValue, Object item) {
 		if (itemValue == null) {
 			itemValue = item;
 		}
@@ -194,12 +252,11 @@ public final class SelectItemsCollector {
 	/**
 	 * Gets the optional label. It defaults to the item value if not specified.
 	 *
-	 * @param attributes the attributes from which the label is fetched.
+	 * @param itemLabelObj the value of the itemLabel attribute.
 	 * @param itemValue default value if no item value present
 	 * @return the label, or the item value if none present
 	 */
-	private static String getItemLabel(Map<String, Object> attributes, Object itemValue) {
-		Object itemLabelObj = attributes.get("itemLabel");
+	private static String getItemLabel(Object itemLabelObj, Object itemValue) {
 		String itemLabel = null;
 		if (itemLabelObj != null) {
 			itemLabel = itemLabelObj.toString();
@@ -213,11 +270,10 @@ public final class SelectItemsCollector {
 	/**
 	 * Gets the optional description.
 	 *
-	 * @param attributes the attributes from which the description is fetched.
+	 * @param itemDescriptionObj the value of the itemDescription attribute.
 	 * @return the description, or null if none present.
 	 */
-	private static String getItemDescription(Map<String, Object> attributes) {
-		Object itemDescriptionObj = attributes.get("itemDescription");
+	private static String getItemDescription(Object itemDescriptionObj) {
 		String itemDescription = null;
 		if (itemDescriptionObj != null) {
 			itemDescription = itemDescriptionObj.toString();
@@ -227,13 +283,12 @@ public final class SelectItemsCollector {
 	}
 
 	/**
-	 * Gets the name boolean attribute. It defaults to <code>false</code> if not specified.
-	 * @param attributes the attributes from which the attribute is fetched.
-	 * @param key name of the attribute
-	 * @return the boolean represented by the attribute or false if there's no such attribute
+	 * Gets the boolean value of an attribute. It defaults to the given default value if not specified.
+	 * @param valueObj the value of the attribute.
+	 * @param defaultValue the default value if there's no such attribute
+	 * @return the boolean represented by the attribute or the default value if there's no such attribute
 	 */
-	private static boolean getBooleanAttribute(Map<String, Object> attributes, String key, boolean defaultValue) {
-		Object valueObj = attributes.get(key);
+	private static boolean getBooleanAttribute(Object valueObj, boolean defaultValue) {
 		boolean value = defaultValue;
 		if (valueObj != null) {
 			value = Boolean.parseBoolean(valueObj.toString());
@@ -242,4 +297,4 @@ public final class SelectItemsCollector {
 		return value;
 	}
 
-}
\ No newline at end of file
+}
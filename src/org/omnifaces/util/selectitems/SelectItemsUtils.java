@@ -12,11 +12,15 @@
  */
 package org.omnifaces.util.selectitems;
 
+import static org.omnifaces.util.FacesLocal.getContextAttribute;
+import static org.omnifaces.util.FacesLocal.setContextAttribute;
 import static org.omnifaces.util.Utils.isEmpty;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import javax.faces.component.UIComponent;
@@ -33,11 +37,19 @@ import javax.faces.model.SelectItemGroup;
  */
 public final class SelectItemsUtils {
 
+	private static final String ATTRIBUTE_SELECT_ITEMS = SelectItemsUtils.class.getName() + ".selectItems";
+	private static final String ATTRIBUTE_VALUES_BY_STRING = SelectItemsUtils.class.getName() + ".valuesByString";
+
 	private SelectItemsUtils() {}
 
 	/**
 	 * Finds an object value in the {@link SelectItem} instances associated with the given component by means of matching its converted value with
 	 * the given string value.
+	 * <p>
+	 * The values of all {@link SelectItem} instances are during the first call for the given component and converter indexed by their string
+	 * representation and this index is reused during the remainder of the current request. The index is kept by client ID, so that a component
+	 * inside an iterating component, such as <code>UIData</code>, gets an index per iteration round. This way a component with many select items and many
+	 * submitted values, such as a <code>UISelectMany</code>, doesn't need to collect and convert all select items again for every submitted value.
 	 *
 	 * @param context
 	 * @param component the component with which {@link SelectItem}s should be associated that are used to search in.
@@ -47,36 +59,50 @@ public final class SelectItemsUtils {
 	 * @return the Object representation of the value where its string representation matches the input value.
 	 */
 	public static Object findValueByStringConversion(FacesContext context, UIComponent component, String value, Converter converter) {
-		return findValueByStringConversion(context, component, SelectItemsCollector.collectFromParent(context, component).iterator(), value, converter);
+		Map<String, ValuesByString> valuesByStringPerClientId = getContextAttribute(context, ATTRIBUTE_VALUES_BY_STRING);
+
+		if (valuesByStringPerClientId == null) {
+			valuesByStringPerClientId = new HashMap<String, ValuesByString>();
+			setContextAttribute(context, ATTRIBUTE_VALUES_BY_STRING, valuesByStringPerClientId);
+		}
+
+		String clientId = component.getClientId(context);
+		ValuesByString valuesByString = valuesByStringPerClientId.get(clientId);
+
+		if (valuesByString == null || valuesByString.converter != converter) {
+			valuesByString = new ValuesByString(converter);
+			collectValuesByString(context, component, collectFromParent(context, component).iterator(), valuesByString);
+			valuesByStringPerClientId.put(clientId, valuesByString);
+		}
+
+		return valuesByString.values.get(value);
 	}
 
-	private static Object findValueByStringConversion(FacesContext context, UIComponent component, Iterator<SelectItem> items, String value, Converter converter) {
+	private static void collectValuesByString(FacesContext context, UIComponent component, Iterator<SelectItem> items, ValuesByString valuesByString) {
 		while (items.hasNext()) {
 			SelectItem item = items.next();
 			if (item instanceof SelectItemGroup) {
 				SelectItem subitems[] = ((SelectItemGroup) item).getSelectItems();
 				if (!isEmpty(subitems)) {
-					Object object = findValueByStringConversion(context, component, new ArrayIterator(subitems), value, converter);
-					if (object != null) {
-						return object;
-					}
+					collectValuesByString(context, component, new ArrayIterator(subitems), valuesByString);
 				}
 			} else if (!item.isNoSelectionOption()) {
 				Object itemValue = item.getValue();
-				String convertedItemValue = converter.getAsString(context, component, itemValue);
-				if (value == null ? convertedItemValue == null : value.equals(convertedItemValue)) {
-					return itemValue;
+				String convertedItemValue = valuesByString.converter.getAsString(context, component, itemValue);
+				if (!valuesByString.values.containsKey(convertedItemValue)) { // The first match wins.
+					valuesByString.values.put(convertedItemValue, itemValue);
 				}
 			}
 		}
-
-		return null;
 	}
 
 	/**
 	 * Collects all values associated with all {@link SelectItem} instances associated with the given component.
 	 * <p>
 	 * Note that values from recursively scanned {@link SelectItemGroup} instances are included.
+	 * <p>
+	 * The {@link SelectItem} instances are collected only once per component during the current request and shared with
+	 * {@link #findValueByStringConversion(FacesContext, UIComponent, String, Converter)}.
 	 *
 	 * @param context
 	 * @param component the component with which {@link SelectItem} instances should be associated
@@ -84,7 +110,7 @@ public final class SelectItemsUtils {
 	 */
 	public static List<Object> collectAllValuesFromSelectItems(FacesContext context, UIComponent component) {
 		List<Object> values = new ArrayList<Object>();
-		collect(SelectItemsCollector.collectFromParent(context, component).iterator(), values);
+		collect(collectFromParent(context, component).iterator(), values);
 
 		return values;
 	}
@@ -103,6 +129,43 @@ public final class SelectItemsUtils {
 		}
 	}
 
+	/**
+	 * Collects the {@link SelectItem} instances of the given component via {@link SelectItemsCollector#collectFromParent(FacesContext, UIComponent)}
+	 * only once during the current request. The collected list is kept by client ID, for the same reason as the index of values by string.
+	 */
+	private static List<SelectItem> collectFromParent(FacesContext context, UIComponent component) {
+		Map<String, List<SelectItem>> selectItemsPerClientId = getContextAttribute(context, ATTRIBUTE_SELECT_ITEMS);
+
+		if (selectItemsPerClientId == null) {
+			selectItemsPerClientId = new HashMap<String, List<SelectItem>>();
+			setContextAttribute(context, ATTRIBUTE_SELECT_ITEMS, selectItemsPerClientId);
+		}
+
+		String clientId = component.getClientId(context);
+		List<SelectItem> selectItems = selectItemsPerClientId.get(clientId);
+
+		if (selectItems == null) {
+			selectItems = SelectItemsCollector.collectFromParent(context, component);
+			selectItemsPerClientId.put(clientId, selectItems);
+		}
+
+		return selectItems;
+	}
+
+	/**
+	 * The values of the {@link SelectItem} instances of a single component by their string representation as converted by the given converter.
+	 */
+	private static final class ValuesByString {
+
+		private final Converter converter;
+		private final Map<String, Object> values = new HashMap<String, Object>();
+
+		public ValuesByString(Converter converter) {
+			this.converter = converter;
+		}
+
+	}
+
 	/**
 	 * Exposes an Array via an <code>Iterator</code>
 	 */
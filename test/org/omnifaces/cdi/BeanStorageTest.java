@@ -0,0 +1,221 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.cdi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.PassivationCapable;
+
+import org.junit.Test;
+
+/**
+ * Tests of the {@link java.io.Externalizable} implementation of {@link BeanStorage}.
+ */
+public class BeanStorageTest {
+
+	// Tests ----------------------------------------------------------------------------------------------------------
+
+	@Test
+	public void emptyRoundTrip() throws Exception {
+		BeanStorage storage = roundTrip(new BeanStorage());
+		assertNull(storage.getBean(new TestContextual<TestBean>("a", TestBean.class), beanManager()));
+	}
+
+	@Test
+	public void roundTrip() throws Exception {
+		TestContextual<TestBean> a = new TestContextual<TestBean>("a", TestBean.class);
+		TestContextual<TestBean> b = new TestContextual<TestBean>("b", TestBean.class);
+		BeanStorage storage = new BeanStorage();
+		createBean(storage, a).value = "foo";
+		createBean(storage, b).value = "bar";
+
+		BeanStorage restored = roundTrip(storage);
+		TestBean restoredA = restored.getBean(a, beanManager());
+		TestBean restoredB = restored.getBean(b, beanManager());
+
+		assertNotSame(storage.getBean(a, beanManager()), restoredA);
+		assertEquals("foo", restoredA.value);
+		assertEquals("bar", restoredB.value);
+		assertNull(restored.getBean(new TestContextual<TestBean>("c", TestBean.class), beanManager()));
+	}
+
+	@Test
+	public void sharedReferencesSurviveRoundTrip() throws Exception {
+		TestContextual<TestBean> a = new TestContextual<TestBean>("a", TestBean.class);
+		TestContextual<TestBean> b = new TestContextual<TestBean>("b", TestBean.class);
+		BeanStorage storage = new BeanStorage();
+		TestBean beanA = createBean(storage, a);
+		createBean(storage, b).other = beanA;
+
+		BeanStorage restored = roundTrip(storage);
+
+		assertSame(restored.getBean(a, beanManager()), restored.getBean(b, beanManager()).other);
+	}
+
+	@Test
+	public void restoredBeansAreDestroyedWithNewContext() throws Exception {
+		TestContextual<TestBean> a = new TestContextual<TestBean>("a", TestBean.class);
+		BeanStorage storage = new BeanStorage();
+		createBean(storage, a);
+
+		BeanStorage restored = roundTrip(storage);
+		TestBean restoredA = restored.getBean(a, beanManager());
+		restored.destroyBeans();
+
+		assertEquals(1, a.destroyed.size());
+		assertSame(restoredA, a.destroyed.get(0));
+		assertNull(restored.getBean(a, beanManager()));
+	}
+
+	@Test
+	public void estimateSize() throws Exception {
+		BeanStorage storage = new BeanStorage();
+		assertEquals(0, storage.getEstimatedSize());
+
+		createBean(storage, new TestContextual<TestBean>("a", TestBean.class));
+		long size = storage.estimateSize();
+		assertTrue(size > 0);
+		assertEquals(size, storage.getEstimatedSize());
+
+		createBean(storage, new TestContextual<Object>("b", Object.class));
+		assertEquals(size, storage.estimateSize()); // Not serializable, so previous estimate is kept.
+	}
+
+	@Test
+	public void estimateSizeIfDue() throws Exception {
+		BeanStorage storage = new BeanStorage();
+		createBean(storage, new TestContextual<TestBean>("a", TestBean.class));
+
+		assertTrue(storage.estimateSizeIfDue(3));
+
+		for (int i = 1; i < 3; i++) {
+			assertFalse(storage.estimateSizeIfDue(3));
+		}
+
+		assertTrue(storage.estimateSizeIfDue(3));
+
+		createBean(storage, new TestContextual<TestBean>("b", TestBean.class));
+		assertTrue(storage.estimateSizeIfDue(3));
+	}
+
+	// Helpers --------------------------------------------------------------------------------------------------------
+
+	private static BeanStorage roundTrip(BeanStorage storage) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream output = new ObjectOutputStream(bytes);
+		output.writeObject(storage);
+		output.close();
+
+		ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		BeanStorage restored = (BeanStorage) input.readObject();
+		assertNotNull(restored);
+		return restored;
+	}
+
+	private static <T> T createBean(BeanStorage storage, Contextual<T> type) {
+		CreationalContext<T> context = creationalContext();
+		return storage.createBean(type, context);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> CreationalContext<T> creationalContext() {
+		return proxy(CreationalContext.class);
+	}
+
+	private static BeanManager beanManager() {
+		return proxy(BeanManager.class);
+	}
+
+	/**
+	 * Returns a proxy of the given interface whose <code>createCreationalContext()</code> returns a creational context
+	 * and whose other methods do nothing.
+	 */
+	private static <T> T proxy(Class<T> type) {
+		return type.cast(Proxy.newProxyInstance(BeanStorageTest.class.getClassLoader(), new Class<?>[] { type },
+			new InvocationHandler() {
+				@Override
+				public Object invoke(Object proxy, Method method, Object[] args) {
+					return method.getName().equals("createCreationalContext") ? creationalContext() : null;
+				}
+			}));
+	}
+
+	// Nested classes -------------------------------------------------------------------------------------------------
+
+	public static class TestBean implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		String value;
+		TestBean other;
+
+	}
+
+	/**
+	 * Contextual type which creates instances of the given class and remembers the destroyed instances.
+	 */
+	private static class TestContextual<T> implements Contextual<T>, PassivationCapable {
+
+		private final String id;
+		private final Class<T> beanClass;
+		private final List<T> destroyed = new ArrayList<T>();
+
+		public TestContextual(String id, Class<T> beanClass) {
+			this.id = id;
+			this.beanClass = beanClass;
+		}
+
+		@Override
+		public String getId() {
+			return id;
+		}
+
+		@Override
+		public T create(CreationalContext<T> context) {
+			try {
+				return beanClass.newInstance();
+			}
+			catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void destroy(T instance, CreationalContext<T> context) {
+			destroyed.add(instance);
+		}
+
+	}
+
+}
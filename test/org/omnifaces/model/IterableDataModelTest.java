@@ -0,0 +1,249 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests of the eager and the chunked mode of {@link IterableDataModel}.
+ */
+public class IterableDataModelTest {
+
+	// Tests of eager mode --------------------------------------------------------------------------------------------
+
+	@Test
+	public void eagerList() {
+		List<Integer> list = Arrays.asList(0, 1, 2);
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(list);
+
+		assertEquals(3, model.getRowCount());
+		assertRows(model, 3);
+	}
+
+	@Test
+	public void eagerIterableHasRowCount() {
+		CountingIterable iterable = new CountingIterable(250);
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(iterable);
+
+		assertEquals(250, model.getRowCount());
+		assertRows(model, 250);
+		assertRows(model, 250);
+		assertEquals(1, iterable.iterations);
+	}
+
+	@Test
+	public void eagerOneShotIterable() {
+		final Iterator<Integer> iterator = Arrays.asList(0, 1, 2).iterator();
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(new Iterable<Integer>() {
+			@Override
+			public Iterator<Integer> iterator() {
+				return iterator;
+			}
+		});
+
+		assertEquals(3, model.getRowCount());
+		assertRows(model, 3);
+		assertRows(model, 3);
+	}
+
+	@Test
+	public void nullData() {
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(null);
+
+		assertEquals(-1, model.getRowIndex());
+		assertFalse(model.isRowAvailable());
+		assertNull(model.getRowData());
+	}
+
+	// Tests of chunked mode ------------------------------------------------------------------------------------------
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidChunkSize() {
+		new IterableDataModel<Integer>(new CountingIterable(10), 0, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidMaxChunks() {
+		new IterableDataModel<Integer>(new CountingIterable(10), 1, 0);
+	}
+
+	@Test
+	public void chunkedListIsAccessedDirectly() {
+		List<Integer> list = Arrays.asList(0, 1, 2);
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(list, 1, 1);
+
+		assertEquals(3, model.getRowCount());
+		assertRows(model, 3);
+	}
+
+	@Test
+	public void chunkedRowCountIsUnknownUntilEnd() {
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(new CountingIterable(25), 10, 3);
+
+		assertEquals(-1, model.getRowCount());
+		assertRow(model, 9);
+		assertEquals(-1, model.getRowCount());
+		assertRow(model, 10);
+		assertRow(model, 24);
+		assertEquals(25, model.getRowCount());
+		assertNoRow(model, 25);
+		assertNoRow(model, 30);
+	}
+
+	@Test
+	public void chunkedExactMultipleOfChunkSize() {
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(new CountingIterable(20), 10, 3);
+
+		assertRow(model, 19);
+		assertEquals(20, model.getRowCount());
+		assertNoRow(model, 20);
+	}
+
+	@Test
+	public void chunkedEmptyIterable() {
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(new CountingIterable(0), 10, 3);
+
+		assertNoRow(model, 0);
+		assertEquals(0, model.getRowCount());
+	}
+
+	@Test
+	public void chunkedRowsWithinRememberedChunksAreNotIteratedAgain() {
+		CountingIterable iterable = new CountingIterable(30);
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(iterable, 10, 3);
+
+		assertRows(model, 30);
+		assertRows(model, 30);
+		assertEquals(1, iterable.iterations);
+	}
+
+	@Test
+	public void chunkedForgottenChunkIsIteratedAgain() {
+		CountingIterable iterable = new CountingIterable(30);
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(iterable, 10, 2);
+
+		assertRow(model, 0);
+		assertRow(model, 29);
+		assertEquals(1, iterable.iterations);
+
+		assertRow(model, 0); // Chunk 0 is forgotten as only chunks 1 and 2 are remembered.
+		assertEquals(2, iterable.iterations);
+		assertRow(model, 15);
+		assertEquals(2, iterable.iterations);
+	}
+
+	@Test
+	public void chunkedSkippedRowsAreNotRemembered() {
+		CountingIterable iterable = new CountingIterable(100);
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(iterable, 10, 2);
+
+		assertRow(model, 95); // Only chunks 8 and 9 are remembered.
+		assertRow(model, 80);
+		assertEquals(1, iterable.iterations);
+		assertRow(model, 0);
+		assertEquals(2, iterable.iterations);
+	}
+
+	@Test
+	public void chunkedCollectionHasRowCount() {
+		Set<Integer> set = new LinkedHashSet<Integer>(Arrays.asList(0, 1, 2, 3, 4));
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(set, 2, 1);
+
+		assertEquals(5, model.getRowCount());
+		assertRows(model, 5);
+		assertNoRow(model, 5);
+	}
+
+	@Test
+	public void chunkedCollectionModifiedDuringIteration() {
+		Set<Integer> set = new LinkedHashSet<Integer>(Arrays.asList(0, 1, 2, 3, 4));
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(set, 2, 3);
+
+		assertRow(model, 1);
+		set.add(5);
+		assertRow(model, 5);
+		assertEquals(6, model.getRowCount());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void chunkedOneShotIterableCannotBeIteratedAgain() {
+		final Iterator<Integer> iterator = new CountingIterable(30).iterator();
+		IterableDataModel<Integer> model = new IterableDataModel<Integer>(new Iterable<Integer>() {
+			@Override
+			public Iterator<Integer> iterator() {
+				return iterator;
+			}
+		}, 10, 1);
+
+		assertRow(model, 25);
+		model.setRowIndex(0);
+		model.isRowAvailable();
+	}
+
+	// Helpers --------------------------------------------------------------------------------------------------------
+
+	private static void assertRows(IterableDataModel<Integer> model, int count) {
+		for (int i = 0; i < count; i++) {
+			assertRow(model, i);
+		}
+	}
+
+	private static void assertRow(IterableDataModel<Integer> model, int index) {
+		model.setRowIndex(index);
+		assertTrue(model.isRowAvailable());
+		assertEquals(Integer.valueOf(index), model.getRowData());
+	}
+
+	private static void assertNoRow(IterableDataModel<Integer> model, int index) {
+		model.setRowIndex(index);
+		assertFalse(model.isRowAvailable());
+	}
+
+	// Nested classes -------------------------------------------------------------------------------------------------
+
+	/**
+	 * Iterable which is not a collection and which yields the numbers from 0 until the given size. It counts how often
+	 * it's been iterated.
+	 */
+	private static final class CountingIterable implements Iterable<Integer> {
+
+		private final List<Integer> rows = new ArrayList<Integer>();
+		private int iterations;
+
+		public CountingIterable(int size) {
+			for (int i = 0; i < size; i++) {
+				rows.add(i);
+			}
+		}
+
+		@Override
+		public Iterator<Integer> iterator() {
+			iterations++;
+			return rows.iterator();
+		}
+
+	}
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2013 OmniFaces.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.omnifaces.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.Test;
+
+/**
+ * Tests of the range request and conditional GET support of {@link FacesLocal#sendFile(javax.faces.context.FacesContext,
+ * java.io.File, boolean)} and friends.
+ */
+public class FacesLocalTest {
+
+	// Constants ------------------------------------------------------------------------------------------------------
+
+	private static final long LENGTH = 1000;
+	private static final long LAST_MODIFIED = 1388534400000L; // Wed, 01 Jan 2014 00:00:00 GMT
+	private static final String LAST_MODIFIED_HEADER = "Wed, 01 Jan 2014 00:00:00 GMT";
+	private static final String ETAG = "\"3e8-1\"";
+	private static final String WEAK_ETAG = "W/\"3e8-1\"";
+
+	// Tests of getRanges() -------------------------------------------------------------------------------------------
+
+	@Test
+	public void noRangeHeader() {
+		assertNull(getRanges(request()));
+	}
+
+	@Test
+	public void otherUnit() {
+		assertNull(getRanges(request("Range", "items=0-10")));
+	}
+
+	@Test
+	public void singleRange() {
+		assertRanges(getRanges(request("Range", "bytes=10-19")), 10, 19);
+	}
+
+	@Test
+	public void openEndedRange() {
+		assertRanges(getRanges(request("Range", "bytes=990-")), 990, 999);
+	}
+
+	@Test
+	public void endBeyondLength() {
+		assertRanges(getRanges(request("Range", "bytes=990-5000")), 990, 999);
+	}
+
+	@Test
+	public void suffixRange() {
+		assertRanges(getRanges(request("Range", "bytes=-100")), 900, 999);
+	}
+
+	@Test
+	public void suffixRangeLargerThanLength() {
+		assertRanges(getRanges(request("Range", "bytes=-5000")), 0, 999);
+	}
+
+	@Test
+	public void unsatisfiableRanges() {
+		assertEquals(0, getRanges(request("Range", "bytes=1000-")).size());
+		assertEquals(0, getRanges(request("Range", "bytes=20-10")).size());
+		assertEquals(0, getRanges(request("Range", "bytes=-")).size());
+		assertEquals(0, getRanges(request("Range", "bytes=abc")).size());
+		assertEquals(0, getRanges(request("Range", "bytes=-0")).size());
+	}
+
+	@Test
+	public void multipleRanges() {
+		assertRanges(getRanges(request("Range", "bytes=500-599, 0-99")), 0, 99, 500, 599);
+	}
+
+	@Test
+	public void overlappingAndAdjacentRangesAreMerged() {
+		assertRanges(getRanges(request("Range", "bytes=0-99,50-149,150-199,300-399")), 0, 199, 300, 399);
+	}
+
+	@Test
+	public void tooManyRanges() {
+		StringBuilder range = new StringBuilder("bytes=0-0");
+
+		for (int i = 1; i <= 16; i++) {
+			range.append(',').append(i * 10).append('-').append(i * 10);
+		}
+
+		assertNull(getRanges(request("Range", range.toString())));
+	}
+
+	@Test
+	public void excessiveOverlap() {
+		assertNull(getRanges(request("Range", "bytes=0-,0-,0-")));
+		assertNull(getRanges(request("Range", "bytes=0-599,400-999")));
+	}
+
+	@Test
+	public void rangesCoveringWholeContent() {
+		assertNull(getRanges(request("Range", "bytes=0-499,500-999")));
+	}
+
+	@Test
+	public void ifRangeMatchingETag() {
+		assertRanges(getRanges(request("Range", "bytes=0-9", "If-Range", ETAG)), 0, 9);
+	}
+
+	@Test
+	public void ifRangeNotMatchingETag() {
+		assertNull(getRanges(request("Range", "bytes=0-9", "If-Range", "\"other\"")));
+	}
+
+	@Test
+	public void ifRangeWithWeakETag() {
+		assertNull(getRanges(request("Range", "bytes=0-9", "If-Range", WEAK_ETAG)));
+		assertNull(FacesLocal.getRanges(request("Range", "bytes=0-9", "If-Range", WEAK_ETAG), WEAK_ETAG, -1, LENGTH));
+	}
+
+	@Test
+	public void ifRangeMatchingLastModified() {
+		assertRanges(getRanges(request("Range", "bytes=0-9", "If-Range", LAST_MODIFIED_HEADER)), 0, 9);
+	}
+
+	@Test
+	public void ifRangeNotMatchingLastModified() {
+		assertNull(getRanges(request("Range", "bytes=0-9", "If-Range", "Thu, 02 Jan 2014 00:00:00 GMT")));
+	}
+
+	// Tests of isNotModified() ---------------------------------------------------------------------------------------
+
+	@Test
+	public void notModifiedWithoutHeaders() {
+		assertFalse(isNotModified(request()));
+	}
+
+	@Test
+	public void notModifiedByETag() {
+		assertTrue(isNotModified(request("If-None-Match", ETAG)));
+		assertTrue(isNotModified(request("If-None-Match", "\"other\", " + ETAG)));
+		assertTrue(isNotModified(request("If-None-Match", "*")));
+		assertFalse(isNotModified(request("If-None-Match", "\"other\"")));
+	}
+
+	@Test
+	public void ifNoneMatchTakesPrecedenceOverIfModifiedSince() {
+		assertFalse(isNotModified(request("If-None-Match", "\"other\"", "If-Modified-Since", LAST_MODIFIED_HEADER)));
+	}
+
+	@Test
+	public void notModifiedByLastModified() {
+		assertTrue(isNotModified(request("If-Modified-Since", LAST_MODIFIED_HEADER)));
+		assertFalse(isNotModified(request("If-Modified-Since", "Tue, 31 Dec 2013 23:59:59 GMT")));
+		assertFalse(isNotModified(request("If-Modified-Since", "invalid")));
+	}
+
+	// Tests of matchesETag() -----------------------------------------------------------------------------------------
+
+	@Test
+	public void matchesETagWithWeakComparison() {
+		assertTrue(FacesLocal.matchesETag(WEAK_ETAG, ETAG));
+		assertTrue(FacesLocal.matchesETag(ETAG, WEAK_ETAG));
+		assertTrue(FacesLocal.matchesETag(" \"a\" ,W/\"3e8-1\"", ETAG));
+		assertFalse(FacesLocal.matchesETag("\"3e8-2\"", ETAG));
+	}
+
+	// Helpers --------------------------------------------------------------------------------------------------------
+
+	private static List<long[]> getRanges(HttpServletRequest request) {
+		return FacesLocal.getRanges(request, ETAG, LAST_MODIFIED, LENGTH);
+	}
+
+	private static boolean isNotModified(HttpServletRequest request) {
+		return FacesLocal.isNotModified(request, ETAG, LAST_MODIFIED);
+	}
+
+	private static void assertRanges(List<long[]> ranges, long... expected) {
+		assertEquals(expected.length / 2, ranges.size());
+
+		for (int i = 0; i < ranges.size(); i++) {
+			assertArrayEquals(new long[] { expected[i * 2], expected[i * 2 + 1] }, ranges.get(i));
+		}
+	}
+
+	/**
+	 * Returns a request which only supports the given headers as name/value pairs.
+	 */
+	private static HttpServletRequest request(String... headers) {
+		final Map<String, String> map = new HashMap<String, String>();
+
+		for (int i = 0; i < headers.length; i += 2) {
+			map.put(headers[i], headers[i + 1]);
+		}
+
+		return (HttpServletRequest) Proxy.newProxyInstance(FacesLocalTest.class.getClassLoader(),
+			new Class<?>[] { HttpServletRequest.class }, new InvocationHandler() {
+				@Override
+				public Object invoke(Object proxy, Method method, Object[] args) {
+					String header = map.get(args[0]);
+
+					if (method.getName().equals("getHeader")) {
+						return header;
+					}
+					else if (method.getName().equals("getDateHeader")) {
+						return parseDateHeader(header);
+					}
+
+					throw new UnsupportedOperationException(method.getName());
+				}
+			});
+	}
+
+	/**
+	 * Mimics {@link HttpServletRequest#getDateHeader(String)}.
+	 */
+	private static long parseDateHeader(String header) {
+		if (header == null) {
+			return -1;
+		}
+
+		SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+		format.setTimeZone(TimeZone.getTimeZone("GMT"));
+
+		try {
+			return format.parse(header).getTime();
+		}
+		catch (ParseException e) {
+			throw new IllegalArgumentException(header);
+		}
+	}
+
+}